@@ -0,0 +1,130 @@
+package com.reducess.trinketstore;
+
+import com.reducess.trinketstore.dto.OrderItemResponse;
+import com.reducess.trinketstore.dto.OrderResponse;
+import com.reducess.trinketstore.dto.ProductResponse;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.entity.Order;
+import com.reducess.trinketstore.entity.OrderItem;
+import com.reducess.trinketstore.entity.Price;
+import com.reducess.trinketstore.entity.Product;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados de exemplo com o formato do catálogo e dos pedidos reais da loja.
+ */
+public final class Fixtures {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2025-11-01T12:00:00-03:00");
+
+    private Fixtures() {
+    }
+
+    public static Product product(int id) {
+        Product product = new Product();
+        product.setIdProduct(id);
+        product.setNomeProduct("Pato de borracha " + id);
+        product.setSlugProduct("pato-de-borracha-" + id);
+        product.setDescricaoProduct("Patinho colecionável da coleção de verão, edição " + id);
+        product.setImagemurlProduct("https://cdn.trinketstore.com/produtos/pato-" + id + ".png");
+        product.setCategoriaProduct(id % 2 == 0 ? "patos" : "tartarugas");
+        product.setAtivo(true);
+        product.setCreatedAt(CREATED_AT);
+        return product;
+    }
+
+    public static Price price(int id, int productId) {
+        Price price = new Price();
+        price.setIdPrice(id);
+        price.setProductId(productId);
+        price.setAmountPrice(1990 + id);
+        price.setCurrencyPrice("BRL");
+        price.setVigentePrice(true);
+        return price;
+    }
+
+    public static Inventory inventory(int id, int productId) {
+        Inventory inventory = new Inventory();
+        inventory.setIdInventory(id);
+        inventory.setProductId(productId);
+        inventory.setQtyOnHand(40 + id);
+        return inventory;
+    }
+
+    public static Order order(int id) {
+        Order order = new Order();
+        order.setIdOrder(id);
+        order.setUserId(7);
+        order.setStatusOrder("pending");
+        order.setTotalOrders(5970);
+        order.setCurrencyOrder("BRL");
+        order.setCheckoutId("PIX-" + String.format("%012d", id));
+        order.setPaymentIntent(String.valueOf(1_300_000_000L + id));
+        order.setPickupQrToken("00020126580014br.gov.bcb.pix0136" + id);
+        order.setPixExpiresAt(CREATED_AT.plusMinutes(30));
+        order.setCreatedAt(CREATED_AT);
+        return order;
+    }
+
+    public static List<OrderItem> orderItems(int orderId, int count) {
+        List<OrderItem> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            OrderItem item = new OrderItem();
+            item.setIdItems(orderId * 10 + i);
+            item.setOrderId(orderId);
+            item.setProductId(i);
+            item.setQtyItems(1);
+            item.setUnitAmount(1990);
+            item.setSubtotalAmount(1990);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<ProductResponse> productResponses(int count) {
+        List<ProductResponse> responses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = product(i);
+            responses.add(new ProductResponse(
+                    product.getIdProduct(),
+                    product.getNomeProduct(),
+                    product.getSlugProduct(),
+                    product.getDescricaoProduct(),
+                    product.getImagemurlProduct(),
+                    product.getCategoriaProduct(),
+                    product.getAtivo(),
+                    product.getCreatedAt()
+            ));
+        }
+        return responses;
+    }
+
+    public static List<OrderResponse> orderResponses(int count, int itemsPerOrder) {
+        List<OrderResponse> responses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Order order = order(i);
+            List<OrderItemResponse> items = orderItems(i, itemsPerOrder).stream()
+                    .map(item -> new OrderItemResponse(item.getIdItems(), item.getOrderId(), item.getProductId(),
+                            item.getQtyItems(), item.getUnitAmount(), item.getSubtotalAmount()))
+                    .toList();
+            responses.add(new OrderResponse(
+                    order.getIdOrder(),
+                    order.getUserId(),
+                    order.getStatusOrder(),
+                    order.getTotalOrders(),
+                    order.getCurrencyOrder(),
+                    order.getCheckoutId(),
+                    order.getPaymentIntent(),
+                    order.getPickupQrToken(),
+                    order.getPixQrCodeBase64(),
+                    order.getPixExpiresAt(),
+                    order.getCreatedAt(),
+                    items
+            ));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,34 @@
+package com.reducess.trinketstore;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementações mínimas de repositórios Spring Data para os benchmarks, sem banco.
+ * Só os métodos informados respondem; qualquer outro falha para não mascarar I/O.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (instance, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> repositoryType.getSimpleName() + "Stub";
+                        case "hashCode" -> System.identityHashCode(instance);
+                        case "equals" -> instance == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        return repositoryType.cast(proxy);
+    }
+}
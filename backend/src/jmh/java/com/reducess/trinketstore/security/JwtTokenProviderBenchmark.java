@@ -0,0 +1,60 @@
+package com.reducess.trinketstore.security;
+
+import com.reducess.trinketstore.config.SupabaseConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "super-secret-jwt-token-with-at-least-32-characters-long";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SupabaseConfig supabaseConfig = new SupabaseConfig() {
+            @Override
+            public String getJwtSecret() {
+                return SECRET;
+            }
+        };
+        tokenProvider = new JwtTokenProvider(supabaseConfig, 10_000);
+        token = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("email", "cliente@trinketstore.com")
+                .claim("role", "authenticated")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return tokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public Claims validateSignature() {
+        return tokenProvider.validateToken(token);
+    }
+}
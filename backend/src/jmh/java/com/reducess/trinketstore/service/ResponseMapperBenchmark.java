@@ -0,0 +1,103 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.Fixtures;
+import com.reducess.trinketstore.RepositoryStubs;
+import com.reducess.trinketstore.dto.InventoryResponse;
+import com.reducess.trinketstore.dto.OrderResponse;
+import com.reducess.trinketstore.dto.PriceResponse;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.entity.Order;
+import com.reducess.trinketstore.entity.OrderItem;
+import com.reducess.trinketstore.entity.Price;
+import com.reducess.trinketstore.entity.Product;
+import com.reducess.trinketstore.repository.InventoryRepository;
+import com.reducess.trinketstore.repository.OrderItemRepository;
+import com.reducess.trinketstore.repository.OrderRepository;
+import com.reducess.trinketstore.repository.PriceRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU e alocação dos mapeadores entidade -> DTO, com repositórios em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMapperBenchmark {
+
+    private static final int ORDER_PAGE_SIZE = 50;
+
+    private OrderService orderService;
+    private InventoryService inventoryService;
+    private PriceService priceService;
+
+    private Order order;
+    private Slice<Order> orderPage;
+    private Inventory inventory;
+    private Price price;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(1);
+        order = Fixtures.order(1);
+        inventory = Fixtures.inventory(1, 1);
+        price = Fixtures.price(1, 1);
+        List<OrderItem> items = Fixtures.orderItems(1, 3);
+        List<Order> orders = new ArrayList<>(ORDER_PAGE_SIZE);
+        List<OrderItem> pageItems = new ArrayList<>(ORDER_PAGE_SIZE * 3);
+        for (int i = 1; i <= ORDER_PAGE_SIZE; i++) {
+            orders.add(Fixtures.order(i));
+            pageItems.addAll(Fixtures.orderItems(i, 3));
+        }
+        orderPage = new SliceImpl<>(orders, PageRequest.of(0, ORDER_PAGE_SIZE), false);
+
+        ProductRepository productRepository = RepositoryStubs.stub(ProductRepository.class,
+                Map.of("findById", args -> Optional.of(product)));
+        OrderItemRepository orderItemRepository = RepositoryStubs.stub(OrderItemRepository.class,
+                Map.of("findByOrderId", args -> items, "findByOrderIdIn", args -> pageItems));
+
+        // O CatalogCache só participa das escritas, que não são medidas aqui
+        inventoryService = new InventoryService(
+                RepositoryStubs.stub(InventoryRepository.class, Map.of()), productRepository, null, null, null, null);
+        orderService = new OrderService(
+                RepositoryStubs.stub(OrderRepository.class, Map.of()), orderItemRepository, inventoryService, null, null);
+        priceService = new PriceService(
+                RepositoryStubs.stub(PriceRepository.class, Map.of()), productRepository, null, null);
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order);
+    }
+
+    @Benchmark
+    public Slice<OrderResponse> mapToOrderResponses() {
+        return orderService.mapToOrderResponses(orderPage);
+    }
+
+    @Benchmark
+    public InventoryResponse mapToInventoryResponse() {
+        return inventoryService.mapToInventoryResponse(inventory);
+    }
+
+    @Benchmark
+    public PriceResponse mapToPriceResponse() {
+        return priceService.mapToPriceResponse(price, product);
+    }
+}
@@ -0,0 +1,61 @@
+package com.reducess.trinketstore.config;
+
+import com.reducess.trinketstore.service.CatalogVersion;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * GET condicional para as leituras públicas do catálogo. A versão é lida antes de o
+ * controller executar, então um ETag nunca descreve dados mais antigos que ele; quando
+ * o cliente já tem a versão atual a resposta é {@code 304} sem tocar banco nem Jackson.
+ */
+@Component
+@Order(CatalogConditionalGetFilter.ORDER)
+@RequiredArgsConstructor
+public class CatalogConditionalGetFilter extends OncePerRequestFilter {
+
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    private static final String[] PATTERNS = {
+            "/products/**", "/prices/**", "/inventory/product/**", "/storefront/**"
+    };
+
+    private static final RequestMatcher MATCHER = new OrRequestMatcher(Arrays.stream(PATTERNS)
+            .map(pattern -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, pattern))
+            .toList());
+
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MATCHER.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CatalogVersion.Current version = catalogVersion.current();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(catalogVersion.etag(version), version.lastModifiedMillis())) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
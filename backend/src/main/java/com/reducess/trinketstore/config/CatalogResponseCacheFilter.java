@@ -0,0 +1,133 @@
+package com.reducess.trinketstore.config;
+
+import com.reducess.trinketstore.service.CatalogResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Set;
+
+/**
+ * Serve as listagens completas mais acessadas do catálogo direto dos bytes guardados
+ * no {@link CatalogResponseCache}, sem passar pelo controller nem pelo Jackson.
+ * Requisições paginadas ou com parâmetros desconhecidos seguem o fluxo normal.
+ * Roda depois do {@link CatalogConditionalGetFilter}, que já respondeu os 304.
+ */
+@Component
+@Order(CatalogResponseCacheFilter.ORDER)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    static final int ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    private static final RequestMatcher ACTIVE_PRODUCTS =
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/products/active");
+    private static final RequestMatcher ACTIVE_PRODUCTS_BY_CATEGORY =
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/products/category/{category}/active");
+    private static final RequestMatcher STOREFRONT_PRODUCTS =
+            PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/storefront/products");
+
+    private final CatalogResponseCache responseCache;
+    private final boolean enabled;
+
+    public CatalogResponseCacheFilter(CatalogResponseCache responseCache,
+                                      @Value("${catalog.response-cache.enabled:true}") boolean enabled) {
+        this.responseCache = responseCache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CatalogResponseCache.EncodedBody body = resolve(request);
+        if (body == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean compressed = body.hasGzip() && acceptsGzip(request);
+        ByteBuffer buffer = body.body(compressed);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            weakenEtag(response);
+        }
+        response.setContentLength(buffer.remaining());
+
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        response.flushBuffer();
+    }
+
+    private CatalogResponseCache.EncodedBody resolve(HttpServletRequest request) {
+        if (ACTIVE_PRODUCTS.matches(request)) {
+            return hasOnlyParameters(request, Set.of()) ? responseCache.activeProducts(null) : null;
+        }
+        if (ACTIVE_PRODUCTS_BY_CATEGORY.matches(request)) {
+            String category = ACTIVE_PRODUCTS_BY_CATEGORY.matcher(request).getVariables().get("category");
+            return hasOnlyParameters(request, Set.of()) ? responseCache.activeProducts(category) : null;
+        }
+        if (STOREFRONT_PRODUCTS.matches(request)) {
+            String category = request.getParameter("category");
+            return hasOnlyParameters(request, Set.of("category"))
+                    ? responseCache.storefrontProducts(StringUtils.hasText(category) ? category : null)
+                    : null;
+        }
+        return null;
+    }
+
+    private static boolean hasOnlyParameters(HttpServletRequest request, Set<String> allowed) {
+        return allowed.containsAll(request.getParameterMap().keySet());
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").equalsIgnoreCase("q=0");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A variante gzip não é byte a byte igual à original, então o validador forte vira
+     * fraco. O {@link CatalogConditionalGetFilter} compara If-None-Match de forma fraca.
+     */
+    private static void weakenEtag(HttpServletResponse response) {
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.reducess.trinketstore.config;
 
+import com.reducess.trinketstore.controller.PageResponses;
 import com.reducess.trinketstore.security.JwtAuthenticationFilter;
+import com.reducess.trinketstore.security.PublicCatalogRoutes;
+import com.reducess.trinketstore.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +32,9 @@ public class SecurityConfig {
     @Lazy
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Lazy
+    private final RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -40,12 +46,11 @@ public class SecurityConfig {
                         .requestMatchers("/webhooks/mercadopago").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/products/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/prices/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/inventory/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, PublicCatalogRoutes.GET_PATTERNS).permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -59,6 +64,7 @@ public class SecurityConfig {
         ));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(PageResponses.EXPOSED_HEADERS);
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -11,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -21,15 +23,13 @@ public class AuthController {
 
     @PostMapping("/signup")
     @Operation(summary = "Criar nova conta", description = "Registra um novo usuário no sistema")
-    public ResponseEntity<AuthResponse> signUp(@Valid @RequestBody SignUpRequest request) {
-        AuthResponse response = authService.signUp(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> signUp(@Valid @RequestBody SignUpRequest request) {
+        return authService.signUp(request).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/signin")
     @Operation(summary = "Login", description = "Autentica um usuário existente")
-    public ResponseEntity<AuthResponse> signIn(@Valid @RequestBody SignInRequest request) {
-        AuthResponse response = authService.signIn(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> signIn(@Valid @RequestBody SignInRequest request) {
+        return authService.signIn(request).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,14 +1,22 @@
 package com.reducess.trinketstore.controller;
 
+import com.reducess.trinketstore.dto.BulkStockAdjustmentRequest;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentResponse;
 import com.reducess.trinketstore.dto.CreateInventoryRequest;
+import com.reducess.trinketstore.dto.FlashSaleResponse;
+import com.reducess.trinketstore.dto.InventoryMovementResponse;
 import com.reducess.trinketstore.dto.InventoryResponse;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.UpdateInventoryRequest;
+import com.reducess.trinketstore.service.FlashSaleStock;
 import com.reducess.trinketstore.service.InventoryService;
+import com.reducess.trinketstore.service.StockAdjustmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +31,8 @@ import java.util.List;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final FlashSaleStock flashSaleStock;
+    private final StockAdjustmentService stockAdjustmentService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -36,28 +46,35 @@ public class InventoryController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
-    @Operation(summary = "Listar todos os inventários (Admin)", description = "Retorna a lista de todos os inventários")
-    public ResponseEntity<List<InventoryResponse>> getAllInventories() {
-        List<InventoryResponse> inventories = inventoryService.getAllInventories();
-        return ResponseEntity.ok(inventories);
+    @Operation(summary = "Listar todos os inventários (Admin)", description = "Retorna a lista de todos os inventários. Aceita sort (idInventory, qtyOnHand, nomeProduct, categoriaProduct), direction e page/size")
+    public ResponseEntity<List<InventoryResponse>> getAllInventories(
+            @Valid @ParameterObject OffsetPageRequest page,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
+        return PageResponses.of(inventoryService.getAllInventories(page, sort, direction));
     }
 
     @GetMapping("/in-stock")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
-    @Operation(summary = "Listar inventários com estoque (Admin)", description = "Retorna inventários com quantidade maior que zero")
-    public ResponseEntity<List<InventoryResponse>> getInventoriesWithStock() {
-        List<InventoryResponse> inventories = inventoryService.getInventoriesWithStock();
-        return ResponseEntity.ok(inventories);
+    @Operation(summary = "Listar inventários com estoque (Admin)", description = "Retorna inventários com quantidade maior que zero. Aceita sort, direction e page/size")
+    public ResponseEntity<List<InventoryResponse>> getInventoriesWithStock(
+            @Valid @ParameterObject OffsetPageRequest page,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
+        return PageResponses.of(inventoryService.getInventoriesWithStock(page, sort, direction));
     }
 
     @GetMapping("/low-stock/{threshold}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
-    @Operation(summary = "Listar inventários com estoque baixo (Admin)", description = "Retorna inventários com quantidade abaixo do limiar")
-    public ResponseEntity<List<InventoryResponse>> getInventoriesWithLowStock(@PathVariable Integer threshold) {
-        List<InventoryResponse> inventories = inventoryService.getInventoriesWithLowStock(threshold);
-        return ResponseEntity.ok(inventories);
+    @Operation(summary = "Listar inventários com estoque baixo (Admin)", description = "Retorna inventários com quantidade abaixo do limiar. Aceita sort, direction e page/size")
+    public ResponseEntity<List<InventoryResponse>> getInventoriesWithLowStock(
+            @PathVariable Integer threshold,
+            @Valid @ParameterObject OffsetPageRequest page,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
+        return PageResponses.of(inventoryService.getInventoriesWithLowStock(threshold, page, sort, direction));
     }
 
     @GetMapping("/{id}")
@@ -76,6 +93,16 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/movements/product/{productId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Listar movimentações de estoque (Admin)", description = "Retorna o razão de estoque do produto, da movimentação mais recente para a mais antiga. Aceita page/size")
+    public ResponseEntity<List<InventoryMovementResponse>> getMovements(
+            @PathVariable Integer productId,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(inventoryService.getMovements(productId, page));
+    }
+
     @PostMapping("/product/{productId}/ensure")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
@@ -87,6 +114,40 @@ public class InventoryController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk-adjustments")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Ajustar estoque em massa (Admin)", description = "Aplica, em uma única transação, um delta ou uma quantidade absoluta por produto. Linhas que deixariam o estoque negativo são recusadas e relatadas sem abortar o lote")
+    public ResponseEntity<BulkStockAdjustmentResponse> adjustStock(@Valid @RequestBody BulkStockAdjustmentRequest request) {
+        BulkStockAdjustmentResponse response = stockAdjustmentService.adjustStock(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/flash-sale")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Listar produtos em flash sale (Admin)", description = "Retorna os produtos em flash sale e o saldo disponível nos contadores em memória")
+    public ResponseEntity<List<FlashSaleResponse>> getFlashSales() {
+        return ResponseEntity.ok(flashSaleStock.getActive());
+    }
+
+    @PostMapping("/product/{productId}/flash-sale")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Iniciar flash sale (Admin)", description = "Passa o estoque do produto para contadores em memória; o checkout baixa dali e o inventário é atualizado em lote")
+    public ResponseEntity<FlashSaleResponse> startFlashSale(@PathVariable Integer productId) {
+        return ResponseEntity.ok(flashSaleStock.start(productId));
+    }
+
+    @DeleteMapping("/product/{productId}/flash-sale")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Encerrar flash sale (Admin)", description = "Aplica as baixas pendentes ao inventário e devolve o produto ao fluxo normal")
+    public ResponseEntity<Void> endFlashSale(@PathVariable Integer productId) {
+        flashSaleStock.end(productId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
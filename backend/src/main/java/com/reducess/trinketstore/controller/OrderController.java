@@ -1,6 +1,7 @@
 package com.reducess.trinketstore.controller;
 
 import com.reducess.trinketstore.dto.CreateOrderRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.OrderResponse;
 import com.reducess.trinketstore.dto.UpdateOrderRequest;
 import com.reducess.trinketstore.service.OrderService;
@@ -10,6 +11,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -39,9 +41,8 @@ public class OrderController {
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
     @Operation(summary = "Listar todos os pedidos (Admin)", description = "Retorna a lista de todos os pedidos")
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<OrderResponse> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getAllOrders(@Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(orderService.getAllOrders(page));
     }
 
     @GetMapping("/{id}")
@@ -57,18 +58,20 @@ public class OrderController {
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
     @SecurityRequirement(name = "bearer-jwt")
     @Operation(summary = "Listar pedidos por usuário", description = "Retorna os pedidos de um usuário específico")
-    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(@PathVariable Integer userId) {
-        List<OrderResponse> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getOrdersByUserId(
+            @PathVariable Integer userId,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(orderService.getOrdersByUserId(userId, page));
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
     @Operation(summary = "Listar pedidos por status (Admin)", description = "Retorna os pedidos com um status específico")
-    public ResponseEntity<List<OrderResponse>> getOrdersByStatus(@PathVariable String status) {
-        List<OrderResponse> orders = orderService.getOrdersByStatus(status);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getOrdersByStatus(
+            @PathVariable String status,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(orderService.getOrdersByStatus(status, page));
     }
 
     @GetMapping("/checkout/{checkoutId}")
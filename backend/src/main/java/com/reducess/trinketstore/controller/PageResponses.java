@@ -0,0 +1,37 @@
+package com.reducess.trinketstore.controller;
+
+import com.reducess.trinketstore.dto.CursorPage;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Monta as respostas paginadas mantendo o corpo como array JSON. A continuação vai em
+ * cabeçalhos para não quebrar os clientes que já consomem as listagens completas.
+ */
+public final class PageResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+    public static final List<String> EXPOSED_HEADERS = List.of(NEXT_CURSOR_HEADER, HAS_NEXT_HEADER);
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+
+    static <T> ResponseEntity<List<T>> of(Slice<T> slice) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (slice.getPageable().isPaged()) {
+            builder.header(HAS_NEXT_HEADER, Boolean.toString(slice.hasNext()));
+        }
+        return builder.body(slice.getContent());
+    }
+}
@@ -1,17 +1,24 @@
 package com.reducess.trinketstore.controller;
+import com.reducess.trinketstore.dto.BulkPriceAdjustmentRequest;
+import com.reducess.trinketstore.dto.BulkPriceAdjustmentResponse;
 import com.reducess.trinketstore.dto.CreatePriceRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.PriceResponse;
 import com.reducess.trinketstore.dto.UpdatePriceRequest;
+import com.reducess.trinketstore.service.PriceAdjustmentService;
 import com.reducess.trinketstore.service.PriceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.OffsetDateTime;
 import java.util.List;
 @RestController
 @RequestMapping("/prices")
@@ -19,6 +26,7 @@ import java.util.List;
 @Tag(name = "Prices", description = "Endpoints de gerenciamento de preços")
 public class PriceController {
     private final PriceService priceService;
+    private final PriceAdjustmentService priceAdjustmentService;
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
@@ -27,17 +35,27 @@ public class PriceController {
         PriceResponse response = priceService.createPrice(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+    @PostMapping("/bulk-adjustments")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Reajustar preços em massa (Admin)", description = "Aplica um percentual e/ou valor absoluto sobre os preços vigentes de uma categoria ou lista de produtos em uma única transação. Com validFrom/validTo o reajuste é agendado ou temporário")
+    public ResponseEntity<BulkPriceAdjustmentResponse> adjustPrices(@Valid @RequestBody BulkPriceAdjustmentRequest request) {
+        BulkPriceAdjustmentResponse response = priceAdjustmentService.adjustPrices(request);
+        return ResponseEntity.ok(response);
+    }
     @GetMapping
-    @Operation(summary = "Listar todos os preços", description = "Retorna a lista de todos os preços")
-    public ResponseEntity<List<PriceResponse>> getAllPrices() {
-        List<PriceResponse> prices = priceService.getAllPrices();
-        return ResponseEntity.ok(prices);
+    @Operation(summary = "Listar todos os preços", description = "Retorna a lista de todos os preços, opcionalmente filtrada por productIds. Com page/size, pagina e indica em X-Has-Next se há mais resultados")
+    public ResponseEntity<List<PriceResponse>> getAllPrices(
+            @RequestParam(required = false) List<Integer> productIds,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(priceService.getPrices(null, productIds, page));
     }
     @GetMapping("/active")
-    @Operation(summary = "Listar preços vigentes", description = "Retorna a lista de preços vigentes")
-    public ResponseEntity<List<PriceResponse>> getActivePrices() {
-        List<PriceResponse> prices = priceService.getActivePrices();
-        return ResponseEntity.ok(prices);
+    @Operation(summary = "Listar preços vigentes", description = "Retorna a lista de preços vigentes, opcionalmente filtrada por productIds. Com page/size, pagina e indica em X-Has-Next se há mais resultados")
+    public ResponseEntity<List<PriceResponse>> getActivePrices(
+            @RequestParam(required = false) List<Integer> productIds,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(priceService.getPrices(true, productIds, page));
     }
     @GetMapping("/{id}")
     @Operation(summary = "Obter preço por ID", description = "Retorna os dados de um preço específico")
@@ -57,6 +75,14 @@ public class PriceController {
         PriceResponse response = priceService.getCurrentPriceByProductId(productId);
         return ResponseEntity.ok(response);
     }
+    @GetMapping("/product/{productId}/at")
+    @Operation(summary = "Obter preço do produto em uma data", description = "Retorna o preço que vale para o produto no instante informado (ISO-8601), considerando as janelas de vigência agendadas. Sem o parâmetro, usa o instante atual")
+    public ResponseEntity<PriceResponse> getPriceAt(
+            @PathVariable Integer productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at) {
+        PriceResponse response = priceService.getPriceAt(productId, at);
+        return ResponseEntity.ok(response);
+    }
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @SecurityRequirement(name = "bearer-jwt")
@@ -1,19 +1,27 @@
 package com.reducess.trinketstore.controller;
 
+import com.reducess.trinketstore.dto.CategoryFacetResponse;
 import com.reducess.trinketstore.dto.CreateProductRequest;
+import com.reducess.trinketstore.dto.CursorPageRequest;
+import com.reducess.trinketstore.dto.ImportResultResponse;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.ProductResponse;
 import com.reducess.trinketstore.dto.UpdateProductRequest;
+import com.reducess.trinketstore.service.ProductImportService;
 import com.reducess.trinketstore.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -23,6 +31,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -33,20 +42,50 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {ProductImportService.CSV, ProductImportService.NDJSON})
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "bearer-jwt")
+    @Operation(summary = "Importar catálogo (Admin)", description = "Importa produtos, preço vigente e estoque em massa a partir de CSV (com cabeçalho) ou NDJSON, usando o slug como chave. Devolve os erros por linha")
+    public ResponseEntity<ImportResultResponse> importProducts(HttpServletRequest request) throws IOException {
+        ImportResultResponse response = productImportService.importCatalog(request.getInputStream(), request.getContentType());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
-    @Operation(summary = "Listar todos os produtos", description = "Retorna a lista de todos os produtos")
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
+    @Operation(summary = "Listar todos os produtos", description = "Retorna a lista de todos os produtos. Com limit/cursor, pagina por keyset e devolve o próximo cursor em X-Next-Cursor")
+    public ResponseEntity<List<ProductResponse>> getAllProducts(@Valid @ParameterObject CursorPageRequest page) {
+        if (page.isPaginated()) {
+            return PageResponses.of(productService.getProductsPage(null, null, page));
+        }
         List<ProductResponse> products = productService.getAllProducts();
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/active")
-    @Operation(summary = "Listar produtos ativos", description = "Retorna a lista de produtos ativos")
-    public ResponseEntity<List<ProductResponse>> getActiveProducts() {
+    @Operation(summary = "Listar produtos ativos", description = "Retorna a lista de produtos ativos. Com limit/cursor, pagina por keyset e devolve o próximo cursor em X-Next-Cursor")
+    public ResponseEntity<List<ProductResponse>> getActiveProducts(@Valid @ParameterObject CursorPageRequest page) {
+        if (page.isPaginated()) {
+            return PageResponses.of(productService.getProductsPage(true, null, page));
+        }
         List<ProductResponse> products = productService.getActiveProducts();
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/facets")
+    @Operation(summary = "Contagem por categoria", description = "Retorna, para cada categoria, quantos produtos estão ativos e quantos têm estoque")
+    public ResponseEntity<List<CategoryFacetResponse>> getCategoryFacets() {
+        return ResponseEntity.ok(productService.getCategoryFacets());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar produtos", description = "Busca textual e aproximada (tolerante a erros de digitação) em nome e descrição dos produtos ativos, ordenada por relevância. Paginada por page/size, com X-Has-Next")
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+            @RequestParam("q") String term,
+            @RequestParam(required = false) String category,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(productService.searchProducts(term, category, page));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obter produto por ID", description = "Retorna os dados de um produto específico")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Integer id) {
@@ -62,8 +101,13 @@ public class ProductController {
     }
 
     @GetMapping("/category/{category}")
-    @Operation(summary = "Listar produtos por categoria", description = "Retorna produtos de uma categoria específica")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable String category) {
+    @Operation(summary = "Listar produtos por categoria", description = "Retorna produtos de uma categoria específica. Com limit/cursor, pagina por keyset e devolve o próximo cursor em X-Next-Cursor")
+    public ResponseEntity<List<ProductResponse>> getProductsByCategory(
+            @PathVariable String category,
+            @Valid @ParameterObject CursorPageRequest page) {
+        if (page.isPaginated()) {
+            return PageResponses.of(productService.getProductsPage(null, category, page));
+        }
         List<ProductResponse> products = productService.getProductsByCategory(category);
         return ResponseEntity.ok(products);
     }
@@ -113,4 +157,3 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 }
-
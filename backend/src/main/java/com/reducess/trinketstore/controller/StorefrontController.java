@@ -0,0 +1,41 @@
+package com.reducess.trinketstore.controller;
+
+import com.reducess.trinketstore.dto.OffsetPageRequest;
+import com.reducess.trinketstore.dto.StorefrontProductResponse;
+import com.reducess.trinketstore.service.StorefrontService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/storefront")
+@RequiredArgsConstructor
+@Tag(name = "Storefront", description = "Leituras agregadas do catálogo para a vitrine")
+public class StorefrontController {
+
+    private final StorefrontService storefrontService;
+
+    @GetMapping("/products")
+    @Operation(summary = "Listar produtos da vitrine", description = "Retorna os produtos ativos com preço vigente e quantidade em estoque em uma única resposta. Aceita category e page/size")
+    public ResponseEntity<List<StorefrontProductResponse>> getProducts(
+            @RequestParam(required = false) String category,
+            @Valid @ParameterObject OffsetPageRequest page) {
+        return PageResponses.of(storefrontService.getProducts(category, page));
+    }
+
+    @GetMapping("/products/{slug}")
+    @Operation(summary = "Obter produto da vitrine por slug", description = "Retorna o produto ativo com preço vigente e quantidade em estoque")
+    public ResponseEntity<StorefrontProductResponse> getProductBySlug(@PathVariable String slug) {
+        return ResponseEntity.ok(storefrontService.getProductBySlug(slug));
+    }
+}
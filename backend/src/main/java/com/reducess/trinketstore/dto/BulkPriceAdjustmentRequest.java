@@ -0,0 +1,32 @@
+package com.reducess.trinketstore.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceAdjustmentRequest {
+
+    @Size(max = 100, message = "Categoria não pode ter mais de 100 caracteres")
+    private String categoria;
+
+    @Size(max = 10000, message = "No máximo 10000 produtos por ajuste")
+    private List<Integer> productIds;
+
+    @DecimalMin(value = "-100", inclusive = false, message = "Percentual deve ser maior que -100")
+    private BigDecimal percentChange;
+
+    private Integer amountChange;
+
+    private OffsetDateTime validFrom;
+
+    private OffsetDateTime validTo;
+}
@@ -0,0 +1,21 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceAdjustmentResponse {
+
+    private long matchedProducts;
+    private long repricedProducts;
+    private long skippedProducts;
+    private long retiredPrices;
+    private boolean appliedNow;
+    private OffsetDateTime validFrom;
+    private OffsetDateTime validTo;
+}
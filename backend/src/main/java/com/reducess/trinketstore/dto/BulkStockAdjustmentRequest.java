@@ -0,0 +1,38 @@
+package com.reducess.trinketstore.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentRequest {
+
+    @NotEmpty(message = "Informe ao menos uma linha")
+    @Size(max = 10000, message = "No máximo 10000 linhas por ajuste")
+    @Valid
+    private List<Line> lines;
+
+    @Pattern(regexp = "receipt|adjustment", message = "Motivo deve ser receipt ou adjustment")
+    private String reason;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        @NotNull(message = "ID do produto é obrigatório")
+        private Integer productId;
+
+        private Integer delta;
+
+        private Integer qtyOnHand;
+    }
+}
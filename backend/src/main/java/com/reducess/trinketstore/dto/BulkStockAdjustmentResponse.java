@@ -0,0 +1,27 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentResponse {
+
+    private long processedLines;
+    private long appliedLines;
+    private long failedLines;
+    private List<LineError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private Integer productId;
+        private String message;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,4 +20,6 @@ public class CreatePriceRequest {
     private String currencyPrice;
     @NotNull(message = "Status vigente é obrigatório")
     private Boolean vigentePrice;
+    private OffsetDateTime validFrom;
+    private OffsetDateTime validTo;
 }
@@ -0,0 +1,30 @@
+package com.reducess.trinketstore.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageRequest {
+
+    @Min(value = 1, message = "Tamanho da página deve ser maior que zero")
+    @Max(value = 200, message = "Tamanho da página não pode passar de 200")
+    private Integer limit;
+
+    private String cursor;
+
+    @Pattern(regexp = "createdAt|id", message = "Ordenação deve ser: createdAt ou id")
+    private String sort = "createdAt";
+
+    @Pattern(regexp = "asc|desc", message = "Direção deve ser: asc ou desc")
+    private String direction = "desc";
+
+    public boolean isPaginated() {
+        return limit != null || cursor != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSaleResponse {
+
+    private Integer productId;
+    private Integer available;
+    private Integer stripes;
+}
@@ -0,0 +1,30 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultResponse {
+
+    private long processedRows;
+    private long importedRows;
+    /** Linhas descartadas porque o mesmo slug reapareceu adiante no mesmo lote. */
+    private long supersededRows;
+    private long failedRows;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String slugProduct;
+        private String message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementResponse {
+
+    private Long idMovement;
+    private Integer productId;
+    private Integer deltaQty;
+    private String reasonMovement;
+    private Integer orderId;
+    private Boolean compacted;
+    private OffsetDateTime createdAt;
+}
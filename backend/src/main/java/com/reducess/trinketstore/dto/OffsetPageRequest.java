@@ -0,0 +1,38 @@
+package com.reducess.trinketstore.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OffsetPageRequest {
+
+    @Min(value = 0, message = "Página não pode ser negativa")
+    private Integer page;
+
+    @Min(value = 1, message = "Tamanho da página deve ser maior que zero")
+    @Max(value = 500, message = "Tamanho da página não pode passar de 500")
+    private Integer size;
+
+    public boolean isPaginated() {
+        return page != null || size != null;
+    }
+
+    /**
+     * Sem {@code page}/{@code size} devolve um {@link Pageable} sem limite, mantendo a
+     * listagem completa que o painel já consome.
+     */
+    public Pageable toPageable(Sort sort, int defaultSize) {
+        if (!isPaginated()) {
+            return Pageable.unpaged(sort);
+        }
+        return PageRequest.of(page != null ? page : 0, size != null ? size : defaultSize, sort);
+    }
+}
@@ -2,6 +2,7 @@ package com.reducess.trinketstore.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +13,6 @@ public class PriceResponse {
     private String currencyPrice;
     private Boolean vigentePrice;
     private String productName;
+    private OffsetDateTime validFrom;
+    private OffsetDateTime validTo;
 }
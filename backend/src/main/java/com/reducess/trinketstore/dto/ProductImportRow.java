@@ -0,0 +1,47 @@
+package com.reducess.trinketstore.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRow {
+
+    @NotBlank(message = "Slug do produto é obrigatório")
+    @Size(max = 200, message = "Slug do produto não pode ter mais de 200 caracteres")
+    private String slugProduct;
+
+    @NotBlank(message = "Nome do produto é obrigatório")
+    @Size(max = 300, message = "Nome do produto não pode ter mais de 300 caracteres")
+    private String nomeProduct;
+
+    @NotBlank(message = "Descrição do produto é obrigatória")
+    private String descricaoProduct;
+
+    @NotBlank(message = "URL da imagem é obrigatória")
+    @Size(max = 600, message = "URL da imagem não pode ter mais de 600 caracteres")
+    private String imagemurlProduct;
+
+    @NotBlank(message = "Categoria do produto é obrigatória")
+    @Size(max = 100, message = "Categoria não pode ter mais de 100 caracteres")
+    private String categoriaProduct;
+
+    private Boolean ativo;
+
+    @Positive(message = "Valor do preço deve ser positivo")
+    private Integer amountPrice;
+
+    @Size(max = 10, message = "Moeda não pode ter mais de 10 caracteres")
+    private String currencyPrice;
+
+    @Min(value = 0, message = "Estoque não pode ser negativo")
+    private Integer qtyOnHand;
+}
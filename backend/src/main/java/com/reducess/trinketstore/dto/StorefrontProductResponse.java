@@ -0,0 +1,25 @@
+package com.reducess.trinketstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorefrontProductResponse {
+
+    private Integer idProduct;
+    private String nomeProduct;
+    private String slugProduct;
+    private String descricaoProduct;
+    private String imagemurlProduct;
+    private String categoriaProduct;
+    private OffsetDateTime createdAt;
+    private Integer idPrice;
+    private Integer amountPrice;
+    private String currencyPrice;
+    private Integer qtyOnHand;
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,4 +14,6 @@ public class UpdatePriceRequest {
     @Size(max = 10, message = "Moeda não pode ter mais de 10 caracteres")
     private String currencyPrice;
     private Boolean vigentePrice;
+    private OffsetDateTime validFrom;
+    private OffsetDateTime validTo;
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Formula;
 
 @Entity
 @Table(name = "inventory")
@@ -13,7 +14,8 @@ import lombok.NoArgsConstructor;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_id_inventory_seq")
+    @SequenceGenerator(name = "inventory_id_inventory_seq", sequenceName = "inventory_id_inventory_seq", allocationSize = 50)
     @Column(name = "id_inventory")
     private Integer idInventory;
 
@@ -23,7 +25,19 @@ public class Inventory {
     @Column(name = "qty_on_hand", nullable = false)
     private Integer qtyOnHand = 0;
 
+    /** Entradas do razão ainda não compactadas em {@code qty_on_hand}. */
+    @Formula("(SELECT COALESCE(SUM(m.delta_qty), 0) FROM inventory_movements m " +
+            "WHERE m.product_id = product_id AND NOT m.compacted)")
+    private Integer qtyPending = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", insertable = false, updatable = false)
     private Product product;
+
+    /**
+     * Saldo disponível: fotografia compactada mais a cauda do razão.
+     */
+    public Integer getQtyAvailable() {
+        return qtyOnHand + (qtyPending != null ? qtyPending : 0);
+    }
 }
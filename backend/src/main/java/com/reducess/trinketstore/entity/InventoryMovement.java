@@ -0,0 +1,43 @@
+package com.reducess.trinketstore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Linha do razão de estoque. Só é gravada via {@code InventoryLedger} (inserts em lote);
+ * a entidade serve à leitura do histórico.
+ */
+@Entity
+@Table(name = "inventory_movements")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_movement")
+    private Long idMovement;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "delta_qty", nullable = false)
+    private Integer deltaQty;
+
+    @Column(name = "reason_movement", nullable = false, length = 20)
+    private String reasonMovement;
+
+    @Column(name = "order_id")
+    private Integer orderId;
+
+    @Column(name = "compacted", nullable = false)
+    private Boolean compacted = false;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
@@ -15,7 +15,8 @@ import java.time.OffsetDateTime;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_order_seq")
+    @SequenceGenerator(name = "orders_id_order_seq", sequenceName = "orders_id_order_seq", allocationSize = 50)
     @Column(name = "id_order")
     private Integer idOrder;
 
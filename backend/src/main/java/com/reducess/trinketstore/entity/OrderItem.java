@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_items_seq")
+    @SequenceGenerator(name = "order_items_id_items_seq", sequenceName = "order_items_id_items_seq", allocationSize = 50)
     @Column(name = "id_items")
     private Integer idItems;
 
@@ -31,5 +32,9 @@ public class OrderItem {
 
     @Column(name = "subtotal_amount", nullable = false)
     private Integer subtotalAmount;
+
+    /** Baixa de estoque ainda não aplicada ao inventário (produto em flash sale). */
+    @Column(name = "stock_pending", nullable = false)
+    private Boolean stockPending = false;
 }
 
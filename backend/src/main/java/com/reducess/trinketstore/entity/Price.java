@@ -3,6 +3,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
 @Entity
 @Table(name = "prices")
 @Data
@@ -10,7 +11,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Price {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prices_id_price_seq")
+    @SequenceGenerator(name = "prices_id_price_seq", sequenceName = "prices_id_price_seq", allocationSize = 50)
     @Column(name = "id_price")
     private Integer idPrice;
     @Column(name = "product_id", nullable = false)
@@ -21,7 +23,17 @@ public class Price {
     private String currencyPrice = "BRL";
     @Column(name = "vigente_price", nullable = false)
     private Boolean vigentePrice = true;
+    @Column(name = "valid_from", nullable = false)
+    private OffsetDateTime validFrom;
+    @Column(name = "valid_to")
+    private OffsetDateTime validTo;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", insertable = false, updatable = false)
     private Product product;
+    @PrePersist
+    protected void onCreate() {
+        if (validFrom == null) {
+            validFrom = OffsetDateTime.now();
+        }
+    }
 }
@@ -11,7 +11,8 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_product_seq")
+    @SequenceGenerator(name = "products_id_product_seq", sequenceName = "products_id_product_seq", allocationSize = 50)
     @Column(name = "id_product")
     private Integer idProduct;
     @Column(name = "nome_product", nullable = false, length = 300)
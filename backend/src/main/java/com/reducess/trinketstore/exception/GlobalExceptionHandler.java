@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -108,6 +109,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(InsufficientStockException ex) {
+        logger.warn("Estoque insuficiente: {}", ex.getProductIds());
+        Map<String, String> errors = new LinkedHashMap<>();
+        ex.getProductIds().forEach(productId -> errors.put(String.valueOf(productId), "Estoque insuficiente"));
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                errors,
+                OffsetDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     @ExceptionHandler(InventoryConflictException.class)
     public ResponseEntity<ErrorResponse> handleInventoryConflictException(InventoryConflictException ex) {
         logger.warn("Conflito de inventário: {}", ex.getMessage());
@@ -0,0 +1,17 @@
+package com.reducess.trinketstore.exception;
+
+import java.util.List;
+
+public class InsufficientStockException extends InventoryConflictException {
+
+    private final List<Integer> productIds;
+
+    public InsufficientStockException(List<Integer> productIds) {
+        super("Estoque insuficiente para os produtos " + productIds);
+        this.productIds = List.copyOf(productIds);
+    }
+
+    public List<Integer> getProductIds() {
+        return productIds;
+    }
+}
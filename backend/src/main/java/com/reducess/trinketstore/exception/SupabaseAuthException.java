@@ -0,0 +1,7 @@
+package com.reducess.trinketstore.exception;
+
+public class SupabaseAuthException extends RuntimeException {
+    public SupabaseAuthException(String message) {
+        super(message);
+    }
+}
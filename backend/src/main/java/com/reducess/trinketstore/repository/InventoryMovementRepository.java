@@ -0,0 +1,12 @@
+package com.reducess.trinketstore.repository;
+
+import com.reducess.trinketstore.entity.InventoryMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+    Slice<InventoryMovement> findByProductId(Integer productId, Pageable pageable);
+}
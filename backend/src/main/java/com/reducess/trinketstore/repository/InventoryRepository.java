@@ -1,9 +1,15 @@
 package com.reducess.trinketstore.repository;
 
+import com.reducess.trinketstore.dto.InventoryResponse;
 import com.reducess.trinketstore.entity.Inventory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +19,20 @@ public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     List<Inventory> findByQtyOnHandGreaterThan(Integer quantity);
     List<Inventory> findByQtyOnHandLessThan(Integer quantity);
     boolean existsByProductId(Integer productId);
+    List<Inventory> findByProductIdIn(Collection<Integer> productIds);
+
+    /**
+     * Listagem administrativa já com os dados do produto, em uma única consulta com join.
+     * Os limites de quantidade são exclusivos, ignorados quando nulos, e valem sobre o
+     * saldo disponível (fotografia mais a cauda do razão).
+     */
+    @Query("SELECT new com.reducess.trinketstore.dto.InventoryResponse(i.idInventory, i.productId, " +
+            "i.qtyOnHand + i.qtyPending, p.nomeProduct, p.slugProduct, p.categoriaProduct, p.ativo, p.imagemurlProduct) " +
+            "FROM Inventory i LEFT JOIN i.product p " +
+            "WHERE (:above IS NULL OR i.qtyOnHand + i.qtyPending > :above) " +
+            "AND (:below IS NULL OR i.qtyOnHand + i.qtyPending < :below)")
+    Slice<InventoryResponse> findResponses(@Param("above") Integer above,
+                                           @Param("below") Integer below,
+                                           Pageable pageable);
 }
 
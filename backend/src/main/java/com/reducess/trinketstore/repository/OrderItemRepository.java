@@ -4,11 +4,13 @@ import com.reducess.trinketstore.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
     List<OrderItem> findByOrderId(Integer orderId);
+    List<OrderItem> findByOrderIdIn(Collection<Integer> orderIds);
     void deleteByOrderId(Integer orderId);
     boolean existsByProductId(Integer productId);
 }
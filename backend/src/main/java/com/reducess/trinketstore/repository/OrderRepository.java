@@ -1,16 +1,18 @@
 package com.reducess.trinketstore.repository;
 
 import com.reducess.trinketstore.entity.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
-    List<Order> findByUserId(Integer userId);
-    List<Order> findByStatusOrder(String statusOrder);
+    Slice<Order> findAllBy(Pageable pageable);
+    Slice<Order> findByUserId(Integer userId, Pageable pageable);
+    Slice<Order> findByStatusOrder(String statusOrder, Pageable pageable);
     Optional<Order> findByCheckoutId(String checkoutId);
     Optional<Order> findByPaymentIntent(String paymentIntent);
     boolean existsByCheckoutId(String checkoutId);
@@ -1,7 +1,15 @@
 package com.reducess.trinketstore.repository;
+import com.reducess.trinketstore.dto.PriceResponse;
 import com.reducess.trinketstore.entity.Price;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 @Repository
@@ -10,4 +18,36 @@ public interface PriceRepository extends JpaRepository<Price, Integer> {
     List<Price> findByVigentePrice(Boolean vigentePrice);
     List<Price> findByProductIdAndVigentePrice(Integer productId, Boolean vigentePrice);
     Optional<Price> findByProductIdAndVigentePriceTrue(Integer productId);
+    List<Price> findByProductIdInAndVigentePriceTrue(Collection<Integer> productIds);
+    List<Price> findByProductIdIn(Collection<Integer> productIds);
+    /**
+     * Retira em um único UPDATE os demais preços do produto que estão vigentes ou cuja
+     * janela cobre {@code now}, fechando a janela nesse instante. Preços agendados para
+     * depois de {@code now} não são afetados.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Price p SET p.vigentePrice = false, " +
+            "p.validTo = CASE WHEN p.validFrom <= :now AND (p.validTo IS NULL OR p.validTo > :now) " +
+            "THEN :now ELSE p.validTo END " +
+            "WHERE p.productId = :productId AND p.idPrice <> :priceId " +
+            "AND (p.vigentePrice = true OR (p.validFrom <= :now AND (p.validTo IS NULL OR p.validTo > :now)))")
+    int retireOtherPrices(@Param("productId") Integer productId,
+                          @Param("priceId") Integer priceId,
+                          @Param("now") OffsetDateTime now);
+    /**
+     * Listagem de preços já com o nome do produto, em uma única consulta com join.
+     * {@code vigente} nulo traz preços vigentes e históricos.
+     */
+    @Query("SELECT new com.reducess.trinketstore.dto.PriceResponse(p.idPrice, p.productId, p.amountPrice, " +
+            "p.currencyPrice, p.vigentePrice, pr.nomeProduct, p.validFrom, p.validTo) " +
+            "FROM Price p LEFT JOIN p.product pr " +
+            "WHERE (:vigente IS NULL OR p.vigentePrice = :vigente)")
+    Slice<PriceResponse> findResponses(@Param("vigente") Boolean vigente, Pageable pageable);
+    @Query("SELECT new com.reducess.trinketstore.dto.PriceResponse(p.idPrice, p.productId, p.amountPrice, " +
+            "p.currencyPrice, p.vigentePrice, pr.nomeProduct, p.validFrom, p.validTo) " +
+            "FROM Price p LEFT JOIN p.product pr " +
+            "WHERE p.productId IN :productIds AND (:vigente IS NULL OR p.vigentePrice = :vigente)")
+    Slice<PriceResponse> findResponsesByProductIdIn(@Param("vigente") Boolean vigente,
+                                                    @Param("productIds") Collection<Integer> productIds,
+                                                    Pageable pageable);
 }
@@ -2,17 +2,37 @@ package com.reducess.trinketstore.repository;
 
 import com.reducess.trinketstore.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
     Optional<Product> findBySlugProduct(String slugProduct);
     boolean existsBySlugProduct(String slugProduct);
     List<Product> findByAtivo(Boolean ativo);
     List<Product> findByCategoriaProduct(String categoriaProduct);
     List<Product> findByCategoriaProductAndAtivo(String categoriaProduct, Boolean ativo);
+
+    /**
+     * Busca de produtos ativos combinando full-text em português ({@code search_vector})
+     * com similaridade por trigramas no nome, para tolerar erros de digitação.
+     * Ordena pela relevância textual e, em seguida, pela proximidade do nome.
+     */
+    @Query(value = "SELECT p.* FROM products p, websearch_to_tsquery('portuguese', :term) q " +
+            "WHERE p.ativo = TRUE " +
+            "AND (CAST(:category AS TEXT) IS NULL OR p.categoria_product = :category) " +
+            "AND (p.search_vector @@ q OR :term <% p.nome_product) " +
+            "ORDER BY ts_rank_cd(p.search_vector, q) DESC, word_similarity(:term, p.nome_product) DESC, p.id_product " +
+            "LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Product> search(@Param("term") String term,
+                         @Param("category") String category,
+                         @Param("limit") int limit,
+                         @Param("offset") long offset);
 }
 
@@ -6,51 +6,80 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.reducess.trinketstore.entity.User;
-import com.reducess.trinketstore.repository.UserRepository;
-
 import java.io.IOException;
-import java.util.UUID;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        try {
-            String jwt = getJwtFromRequest(request);
+        String jwt = getJwtFromRequest(request);
+
+        if (StringUtils.hasText(jwt)) {
+            if (PublicCatalogRoutes.matches(request)) {
+                // Leitura pública do catálogo: só valida o token se alguém pedir o principal
+                deferAuthentication(request, jwt);
+            } else {
+                UsernamePasswordAuthenticationToken authentication = authenticate(request, jwt);
+                if (authentication != null) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
 
-            if (StringUtils.hasText(jwt)) {
-                UUID authId = tokenProvider.extractAuthId(jwt);
-                String email = tokenProvider.extractEmail(jwt);
+    private void deferAuthentication(HttpServletRequest request, String jwt) {
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        Supplier<SecurityContext> previous = strategy.getDeferredContext();
+        strategy.setDeferredContext(SingletonSupplier.of(() -> {
+            SecurityContext context = previous.get();
+            if (context.getAuthentication() != null) {
+                return context;
+            }
+            UsernamePasswordAuthenticationToken authentication = authenticate(request, jwt);
+            if (authentication == null) {
+                return context;
+            }
+            SecurityContext authenticated = strategy.createEmptyContext();
+            authenticated.setAuthentication(authentication);
+            return authenticated;
+        }));
+    }
 
-                User user = userRepository.findByAuthId(authId).orElse(null);
+    private UsernamePasswordAuthenticationToken authenticate(HttpServletRequest request, String jwt) {
+        try {
+            VerifiedToken token = tokenProvider.verify(jwt);
 
-                if (user != null) {
-                    UserPrincipal userPrincipal = UserPrincipal.create(user, email);
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userPrincipal, null, userPrincipal.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            UserPrincipal userPrincipal = principalCache.resolve(token.authId(), token.email()).orElse(null);
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            if (userPrincipal != null) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userPrincipal, null, userPrincipal.getAuthorities());
+                authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                return authentication;
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
-
-        filterChain.doFilter(request, response);
+        return null;
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -61,4 +90,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
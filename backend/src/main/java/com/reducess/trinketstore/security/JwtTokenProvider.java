@@ -1,41 +1,112 @@
 package com.reducess.trinketstore.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.reducess.trinketstore.config.SupabaseConfig;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
-    private final SupabaseConfig supabaseConfig;
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
-    public Claims validateToken(String token) {
+    public JwtTokenProvider(SupabaseConfig supabaseConfig,
+                            @Value("${security.jwt.verified-cache.max-entries:10000}") int maxCachedTokens) {
         SecretKey key = Keys.hmacShaKeyFor(supabaseConfig.getJwtSecret().getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
+        this.parser = Jwts.parser()
                 .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+                .build();
+        this.maxCachedTokens = maxCachedTokens;
     }
 
-    public UUID extractAuthId(String token) {
+    /**
+     * Valida o token uma única vez e devolve as claims tipadas. Tokens já verificados
+     * ficam em cache (pelo digest SHA-256) até o {@code exp}, evitando recalcular o HMAC
+     * nas chamadas repetidas do storefront com o mesmo bearer.
+     */
+    public VerifiedToken verify(String token) {
+        Instant now = Instant.now();
+        String digest = digest(token);
+
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+
         Claims claims = validateToken(token);
-        String sub = claims.getSubject();
-        return UUID.fromString(sub);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                expiration != null ? expiration.toInstant() : null
+        );
+
+        // Tokens sem exp não entram no cache, pois nunca poderiam ser descartados
+        if (verified.expiresAt() != null) {
+            cache(digest, verified, now);
+        }
+        return verified;
+    }
+
+    public Claims validateToken(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public UUID extractAuthId(String token) {
+        return verify(token).authId();
     }
 
     public String extractEmail(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("email", String.class);
+        return verify(token).email();
     }
-}
 
+    /**
+     * Ao encher, descarta os expirados e, se ainda faltar espaço, os ~10% que expiram
+     * primeiro — um lote por vez, para não reordenar o cache a cada token novo nem
+     * esvaziá-lo inteiro sob carga.
+     */
+    private void cache(String digest, VerifiedToken verified, Instant now) {
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                int excess = verifiedTokens.size() - maxCachedTokens + Math.max(1, maxCachedTokens / 10);
+                verifiedTokens.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue(Comparator.comparing(VerifiedToken::expiresAt)))
+                        .limit(excess)
+                        .toList()
+                        .forEach(entry -> verifiedTokens.remove(entry.getKey(), entry.getValue()));
+            }
+        }
+        verifiedTokens.put(digest, verified);
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.reducess.trinketstore.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+
+/**
+ * Leituras do catálogo liberadas para anônimos. Compartilhado entre a configuração
+ * de segurança e o filtro JWT, que não resolve o usuário nessas rotas a menos que
+ * alguém peça o principal.
+ */
+public final class PublicCatalogRoutes {
+
+    public static final String[] GET_PATTERNS = {"/products/**", "/prices/**", "/inventory/**", "/storefront/**"};
+
+    private static final RequestMatcher MATCHER = new OrRequestMatcher(Arrays.stream(GET_PATTERNS)
+            .map(pattern -> (RequestMatcher) PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, pattern))
+            .toList());
+
+    private PublicCatalogRoutes() {
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        return MATCHER.matches(request);
+    }
+}
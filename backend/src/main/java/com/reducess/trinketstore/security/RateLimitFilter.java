@@ -0,0 +1,127 @@
+package com.reducess.trinketstore.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reducess.trinketstore.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão por rota para login, cadastro e checkout PIX. A chave é o
+ * {@code id_user} do principal autenticado ou, sem ele, o IP de origem.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter limiter;
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(Environment environment,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-keys:50000}") int maxKeys,
+                           @Value("${rate-limit.stripes:64}") int stripes) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.limiter = new TokenBucketRateLimiter(maxKeys, stripes);
+        this.routes = List.of(
+                route("auth-signin", HttpMethod.POST, "/auth/signin", environment, meterRegistry),
+                route("auth-signup", HttpMethod.POST, "/auth/signup", environment, meterRegistry),
+                route("checkout-pix", HttpMethod.POST, "/checkout/pix", environment, meterRegistry)
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        for (Route route : routes) {
+            if (!route.matcher().matches(request)) {
+                continue;
+            }
+            long waitNanos = limiter.tryAcquire(route.name() + ':' + clientKey(request), route.policy(), System.nanoTime());
+            if (waitNanos > 0) {
+                route.rejected().increment();
+                reject(response, waitNanos);
+                return;
+            }
+            route.allowed().increment();
+            break;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "u" + principal.getUserId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Muitas requisições. Por favor, aguarde alguns instantes",
+                null,
+                OffsetDateTime.now()
+        ));
+    }
+
+    private static Route route(String name, HttpMethod method, String path,
+                               Environment environment, MeterRegistry meterRegistry) {
+        String prefix = "rate-limit." + name + ".";
+        TokenBucketRateLimiter.Policy policy = TokenBucketRateLimiter.Policy.of(
+                environment.getProperty(prefix + "requests", Integer.class, 10),
+                environment.getProperty(prefix + "period", Duration.class, Duration.ofMinutes(1)),
+                environment.getProperty(prefix + "burst", Integer.class, 5)
+        );
+        return new Route(
+                name,
+                PathPatternRequestMatcher.withDefaults().matcher(method, path),
+                policy,
+                Counter.builder("trinketstore.ratelimit.requests").tag("route", name).tag("outcome", "allowed")
+                        .register(meterRegistry),
+                Counter.builder("trinketstore.ratelimit.requests").tag("route", name).tag("outcome", "rejected")
+                        .register(meterRegistry)
+        );
+    }
+
+    private record Route(String name, RequestMatcher matcher, TokenBucketRateLimiter.Policy policy,
+                         Counter allowed, Counter rejected) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.reducess.trinketstore.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token bucket em memória, particionado em faixas com lock próprio. Cada chave guarda
+ * apenas o instante teórico de chegada (GCRA), o que equivale a um bucket com
+ * {@code burst} fichas reabastecidas a {@code requestsPerPeriod} por período.
+ * Cada faixa é um LRU limitado, então a memória não cresce com o número de chaves.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Stripe[] stripes;
+
+    public TokenBucketRateLimiter(int maxKeys, int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        int keysPerStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Tenta consumir uma ficha.
+     *
+     * @return 0 se a requisição foi admitida, ou os nanossegundos até haver ficha disponível
+     */
+    public long tryAcquire(String key, Policy policy, long nowNanos) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        synchronized (stripe) {
+            long[] theoreticalArrival = stripe.get(key);
+            if (theoreticalArrival == null) {
+                theoreticalArrival = new long[]{nowNanos};
+                stripe.put(key, theoreticalArrival);
+            }
+            long tat = Math.max(theoreticalArrival[0], nowNanos);
+            long waitNanos = tat - policy.burstToleranceNanos() - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            theoreticalArrival[0] = tat + policy.emissionIntervalNanos();
+            return 0;
+        }
+    }
+
+    public record Policy(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        public static Policy of(int requestsPerPeriod, Duration period, int burst) {
+            long interval = Math.max(1, period.toNanos() / Math.max(1, requestsPerPeriod));
+            return new Policy(interval, interval * (Math.max(1, burst) - 1));
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, long[]> {
+
+        private final int maxKeys;
+
+        private Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
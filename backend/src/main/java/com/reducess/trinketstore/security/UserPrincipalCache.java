@@ -0,0 +1,111 @@
+package com.reducess.trinketstore.security;
+
+import com.reducess.trinketstore.entity.User;
+import com.reducess.trinketstore.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache com TTL dos dados de usuário usados para montar o {@link UserPrincipal},
+ * evitando um SELECT em {@code users} a cada requisição autenticada.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<UUID, CachedUser> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.principal-cache.ttl:PT5M}") Duration ttl,
+                              @Value("${security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("trinketstore.auth.principal.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("trinketstore.auth.principal.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("trinketstore.auth.principal.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public Optional<UserPrincipal> resolve(UUID authId, String email) {
+        long now = System.nanoTime();
+        CachedUser cached = entries.get(authId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return Optional.of(new UserPrincipal(authId, email, cached.role(), cached.userId()));
+        }
+
+        misses.increment();
+        Optional<User> user = userRepository.findByAuthId(authId);
+        if (user.isEmpty()) {
+            entries.remove(authId);
+            return Optional.empty();
+        }
+
+        store(authId, new CachedUser(user.get().getIdUser(), user.get().getRole(), now));
+        return user.map(found -> UserPrincipal.create(found, email));
+    }
+
+    /**
+     * Remove o usuário do cache. Dentro de uma transação a remoção é repetida após o
+     * commit, para que uma leitura concorrente não recoloque o estado antigo.
+     */
+    public void evict(UUID authId) {
+        if (authId == null) {
+            return;
+        }
+        entries.remove(authId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(authId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Cheio, descarta os vencidos e, se não bastar, o lote de ~10% carregado há mais
+     * tempo (o próximo a vencer, já que o TTL é único), em vez de esvaziar o cache.
+     */
+    private void store(UUID authId, CachedUser cachedUser) {
+        if (entries.size() >= maxEntries && !entries.containsKey(authId)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+            if (entries.size() >= maxEntries) {
+                int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+                entries.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(CachedUser::loadedAt)))
+                        .limit(excess)
+                        .toList()
+                        .forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+            }
+        }
+        entries.put(authId, cachedUser);
+    }
+
+    private record CachedUser(Long userId, String role, long loadedAt) {
+    }
+}
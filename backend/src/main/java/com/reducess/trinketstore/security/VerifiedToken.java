@@ -0,0 +1,14 @@
+package com.reducess.trinketstore.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims de um JWT do Supabase cuja assinatura já foi verificada.
+ */
+public record VerifiedToken(UUID authId, String email, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
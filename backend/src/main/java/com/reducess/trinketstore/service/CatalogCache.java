@@ -0,0 +1,223 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.PriceResponse;
+import com.reducess.trinketstore.dto.ProductResponse;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.entity.Price;
+import com.reducess.trinketstore.entity.Product;
+import com.reducess.trinketstore.repository.InventoryRepository;
+import com.reducess.trinketstore.repository.PriceRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a fotografia do catálogo ativo usada pelas leituras do storefront.
+ * Leituras não usam lock: apenas leem a referência volátil. Escritas marcam os produtos
+ * alterados e, após o commit, os recarregam e trocam a fotografia de uma vez.
+ */
+@Slf4j
+@Component
+public class CatalogCache {
+
+    private final ProductRepository productRepository;
+    private final PriceRepository priceRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogCache(ProductRepository productRepository,
+                        PriceRepository priceRepository,
+                        InventoryRepository inventoryRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.priceRepository = priceRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return rebuild();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Agenda a recarga do produto ao fim da transação corrente. Várias marcações na
+     * mesma transação resultam em uma única troca de fotografia.
+     */
+    public void markChanged(Integer productId) {
+        if (productId == null) {
+            return;
+        }
+        markChanged(Set.of(productId));
+    }
+
+    /**
+     * Variante em lote de {@link #markChanged(Integer)}: fora de transação, todos os
+     * produtos informados são recarregados em uma única troca de fotografia.
+     */
+    public void markChanged(Collection<Integer> productIds) {
+        mark(productIds, false);
+    }
+
+    /**
+     * Como {@link #markChanged(Integer)}, mas o evento publicado sinaliza que os preços do
+     * produto mudaram e a {@link PriceSchedule} precisa recarregar sua linha do tempo.
+     */
+    public void markPricesChanged(Integer productId) {
+        if (productId == null) {
+            return;
+        }
+        markPricesChanged(Set.of(productId));
+    }
+
+    public void markPricesChanged(Collection<Integer> productIds) {
+        mark(productIds, true);
+    }
+
+    private void mark(Collection<Integer> productIds, boolean prices) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(Set.copyOf(productIds), prices);
+            return;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingChanges created = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        refresh(created.productIds, created.prices);
+                    }
+                }
+            });
+            pending = created;
+        }
+        pending.productIds.addAll(productIds);
+        pending.prices |= prices;
+    }
+
+    public synchronized CatalogSnapshot rebuild() {
+        CatalogSnapshot rebuilt = readTransaction.execute(status -> {
+            List<Product> products = productRepository.findByAtivo(true);
+            Map<Integer, Price> prices = indexByProduct(priceRepository.findByVigentePrice(true), Price::getProductId);
+            Map<Integer, Inventory> inventories = indexByProduct(inventoryRepository.findAll(), Inventory::getProductId);
+            return CatalogSnapshot.of(toItems(products, prices, inventories));
+        });
+        snapshot = rebuilt;
+        log.debug("[catalog] Fotografia reconstruída com {} produtos ativos", rebuilt.items().size());
+        eventPublisher.publishEvent(new CatalogChangedEvent(rebuilt, Set.of(), true));
+        return rebuilt;
+    }
+
+    private synchronized void refresh(Set<Integer> productIds, boolean prices) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        if (snapshot == null) {
+            rebuild();
+            return;
+        }
+        List<CatalogItem> updated = readTransaction.execute(status -> {
+            List<Product> products = productRepository.findAllById(productIds).stream()
+                    .filter(product -> Boolean.TRUE.equals(product.getAtivo()))
+                    .toList();
+            Map<Integer, Price> prices = indexByProduct(
+                    priceRepository.findByProductIdInAndVigentePriceTrue(productIds), Price::getProductId);
+            Map<Integer, Inventory> inventories = indexByProduct(
+                    inventoryRepository.findByProductIdIn(productIds), Inventory::getProductId);
+            return toItems(products, prices, inventories);
+        });
+        CatalogSnapshot refreshed = snapshot.with(updated, productIds);
+        snapshot = refreshed;
+        eventPublisher.publishEvent(new CatalogChangedEvent(refreshed, Set.copyOf(productIds), prices));
+    }
+
+    private List<CatalogItem> toItems(Collection<Product> products, Map<Integer, Price> prices,
+                                      Map<Integer, Inventory> inventories) {
+        List<CatalogItem> items = new ArrayList<>(products.size());
+        for (Product product : products) {
+            Price price = prices.get(product.getIdProduct());
+            Inventory inventory = inventories.get(product.getIdProduct());
+            items.add(new CatalogItem(
+                    mapToProductResponse(product),
+                    price != null ? mapToPriceResponse(price, product) : null,
+                    inventory != null ? inventory.getQtyAvailable() : 0
+            ));
+        }
+        return items;
+    }
+
+    private <T> Map<Integer, T> indexByProduct(Collection<T> rows, Function<T, Integer> productId) {
+        return rows.stream().collect(Collectors.toMap(productId, row -> row, (first, second) -> second));
+    }
+
+    private ProductResponse mapToProductResponse(Product product) {
+        return new ProductResponse(
+                product.getIdProduct(),
+                product.getNomeProduct(),
+                product.getSlugProduct(),
+                product.getDescricaoProduct(),
+                product.getImagemurlProduct(),
+                product.getCategoriaProduct(),
+                product.getAtivo(),
+                product.getCreatedAt()
+        );
+    }
+
+    private PriceResponse mapToPriceResponse(Price price, Product product) {
+        return new PriceResponse(
+                price.getIdPrice(),
+                price.getProductId(),
+                price.getAmountPrice(),
+                price.getCurrencyPrice(),
+                price.getVigentePrice(),
+                product.getNomeProduct(),
+                price.getValidFrom(),
+                price.getValidTo()
+        );
+    }
+
+    /** Marcações acumuladas na transação corrente. */
+    private static final class PendingChanges {
+        private final Set<Integer> productIds = new HashSet<>();
+        private boolean prices;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reducess.trinketstore.service;
+
+import java.util.Set;
+
+/**
+ * Publicado depois que uma nova fotografia do catálogo foi instalada.
+ * {@code productIds} vazio indica reconstrução completa. {@code pricesChanged} é falso
+ * quando só estoque ou dados do produto mudaram (o caso do checkout), para que quem
+ * acompanha apenas preços possa ignorar o evento.
+ */
+public record CatalogChangedEvent(CatalogSnapshot snapshot, Set<Integer> productIds, boolean pricesChanged) {
+}
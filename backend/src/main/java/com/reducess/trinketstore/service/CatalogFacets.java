@@ -0,0 +1,75 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.CategoryFacetResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contagem de produtos ativos e com estoque por categoria, mantida de forma incremental
+ * a partir dos {@link CatalogChangedEvent}: cada evento só desfaz e refaz a contribuição
+ * dos produtos alterados. A leitura devolve uma lista pronta, sem recontar.
+ */
+@Component
+public class CatalogFacets {
+
+    private final Map<Integer, Contribution> contributions = new HashMap<>();
+    private final Map<String, int[]> counts = new TreeMap<>();
+
+    private volatile List<CategoryFacetResponse> facets = List.of();
+
+    public List<CategoryFacetResponse> facets() {
+        return facets;
+    }
+
+    @EventListener
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        CatalogSnapshot snapshot = event.snapshot();
+        if (event.productIds().isEmpty()) {
+            contributions.clear();
+            counts.clear();
+            snapshot.items().forEach(this::add);
+        } else {
+            for (Integer productId : event.productIds()) {
+                Contribution previous = contributions.remove(productId);
+                if (previous != null) {
+                    apply(previous, -1);
+                }
+                snapshot.findById(productId).ifPresent(this::add);
+            }
+        }
+        publish();
+    }
+
+    private void add(CatalogItem item) {
+        Contribution contribution = new Contribution(
+                item.product().getCategoriaProduct(),
+                item.qtyOnHand() != null && item.qtyOnHand() > 0);
+        contributions.put(item.productId(), contribution);
+        apply(contribution, 1);
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        int[] count = counts.computeIfAbsent(contribution.category(), category -> new int[2]);
+        count[0] += delta;
+        if (contribution.inStock()) {
+            count[1] += delta;
+        }
+        if (count[0] == 0) {
+            counts.remove(contribution.category());
+        }
+    }
+
+    private void publish() {
+        facets = counts.entrySet().stream()
+                .map(entry -> new CategoryFacetResponse(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .toList();
+    }
+
+    private record Contribution(String category, boolean inStock) {
+    }
+}
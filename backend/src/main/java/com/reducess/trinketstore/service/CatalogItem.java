@@ -0,0 +1,31 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.PriceResponse;
+import com.reducess.trinketstore.dto.ProductResponse;
+import com.reducess.trinketstore.dto.StorefrontProductResponse;
+
+/**
+ * Produto ativo do catálogo com o preço vigente (se houver) e a quantidade em estoque.
+ */
+public record CatalogItem(ProductResponse product, PriceResponse price, Integer qtyOnHand) {
+
+    public Integer productId() {
+        return product.getIdProduct();
+    }
+
+    public StorefrontProductResponse toStorefrontResponse() {
+        return new StorefrontProductResponse(
+                product.getIdProduct(),
+                product.getNomeProduct(),
+                product.getSlugProduct(),
+                product.getDescricaoProduct(),
+                product.getImagemurlProduct(),
+                product.getCategoriaProduct(),
+                product.getCreatedAt(),
+                price != null ? price.getIdPrice() : null,
+                price != null ? price.getAmountPrice() : null,
+                price != null ? price.getCurrencyPrice() : null,
+                qtyOnHand
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.reducess.trinketstore.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corpos JSON já serializados (e, acima de um tamanho mínimo, já comprimidos em gzip)
+ * das listagens quentes do catálogo, guardados em {@link ByteBuffer} diretos.
+ * Cada corpo lembra a fotografia de que veio: se a fotografia mudou, é recodificado
+ * na próxima leitura, então uma troca concorrente nunca deixa um corpo antigo em uso.
+ */
+@Slf4j
+@Component
+public class CatalogResponseCache {
+
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final Map<String, EncodedBody> bodies = new ConcurrentHashMap<>();
+
+    public CatalogResponseCache(CatalogCache catalogCache,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.response-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.catalogCache = catalogCache;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Equivalente a {@code GET /products/active} ou {@code /products/category/{category}/active}.
+     */
+    public EncodedBody activeProducts(String category) {
+        return get("products", category, snapshot -> category == null
+                ? snapshot.activeProducts()
+                : snapshot.activeProducts(category));
+    }
+
+    /**
+     * Equivalente a {@code GET /storefront/products}, opcionalmente filtrado por categoria.
+     */
+    public EncodedBody storefrontProducts(String category) {
+        return get("storefront", category, snapshot -> category == null
+                ? snapshot.storefrontProducts()
+                : snapshot.storefrontProducts(category));
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Só libera memória; a validade de cada corpo é conferida pela fotografia
+        bodies.clear();
+    }
+
+    private EncodedBody get(String listing, String category, Function<CatalogSnapshot, List<?>> content) {
+        CatalogSnapshot snapshot = catalogCache.snapshot();
+        // Categorias inexistentes compartilham a mesma entrada, para o mapa não crescer com lixo
+        String key = category == null
+                ? listing
+                : snapshot.itemsByCategory(category).isEmpty() ? listing + ":?" : listing + ":" + category;
+
+        EncodedBody cached = bodies.get(key);
+        if (cached != null && cached.snapshot() == snapshot) {
+            return cached;
+        }
+        EncodedBody encoded = encode(snapshot, content.apply(snapshot));
+        bodies.put(key, encoded);
+        return encoded;
+    }
+
+    private EncodedBody encode(CatalogSnapshot snapshot, List<?> content) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(content);
+            ByteBuffer gzip = json.length >= gzipMinBytes ? toDirect(gzip(json)) : null;
+            return new EncodedBody(snapshot, toDirect(json), gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar listagem do catálogo", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static ByteBuffer toDirect(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public record EncodedBody(CatalogSnapshot snapshot, ByteBuffer identity, ByteBuffer gzip) {
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        /**
+         * Visão independente do corpo, com posição própria, segura para uso concorrente.
+         */
+        public ByteBuffer body(boolean compressed) {
+            return (compressed ? gzip : identity).duplicate();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.ProductResponse;
+import com.reducess.trinketstore.dto.StorefrontProductResponse;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Fotografia imutável do catálogo ativo, indexada por id, slug e categoria.
+ * Nunca é alterada depois de criada; mudanças geram uma nova instância.
+ */
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(List.of());
+
+    private final List<CatalogItem> items;
+    private final Map<Integer, CatalogItem> byId;
+    private final Map<String, CatalogItem> bySlug;
+    private final Map<String, List<CatalogItem>> byCategory;
+    private final List<ProductResponse> activeProducts;
+    private final Map<String, List<ProductResponse>> activeProductsByCategory;
+    private final List<StorefrontProductResponse> storefrontProducts;
+    private final Map<String, List<StorefrontProductResponse>> storefrontProductsByCategory;
+
+    private CatalogSnapshot(Collection<CatalogItem> source) {
+        this.items = source.stream()
+                .sorted(Comparator.comparing(CatalogItem::productId))
+                .toList();
+        this.byId = items.stream()
+                .collect(Collectors.toUnmodifiableMap(CatalogItem::productId, item -> item));
+        this.bySlug = items.stream()
+                .collect(Collectors.toUnmodifiableMap(item -> item.product().getSlugProduct(), item -> item));
+        this.byCategory = items.stream()
+                .collect(Collectors.groupingBy(item -> item.product().getCategoriaProduct(),
+                        LinkedHashMap::new, Collectors.toUnmodifiableList()));
+        this.activeProducts = items.stream()
+                .map(CatalogItem::product)
+                .toList();
+        this.activeProductsByCategory = byCategory.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        entry -> entry.getValue().stream().map(CatalogItem::product).toList()));
+        this.storefrontProducts = items.stream()
+                .map(CatalogItem::toStorefrontResponse)
+                .toList();
+        this.storefrontProductsByCategory = byCategory.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        entry -> entry.getValue().stream().map(CatalogItem::toStorefrontResponse).toList()));
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot of(Collection<CatalogItem> items) {
+        return new CatalogSnapshot(items);
+    }
+
+    /**
+     * Nova fotografia com os itens informados substituídos e os ids removidos descartados.
+     */
+    public CatalogSnapshot with(Collection<CatalogItem> updated, Collection<Integer> removed) {
+        Map<Integer, CatalogItem> merged = new HashMap<>(byId);
+        removed.forEach(merged::remove);
+        updated.forEach(item -> merged.put(item.productId(), item));
+        return new CatalogSnapshot(merged.values());
+    }
+
+    public List<CatalogItem> items() {
+        return items;
+    }
+
+    public Optional<CatalogItem> findById(Integer productId) {
+        return Optional.ofNullable(byId.get(productId));
+    }
+
+    public Optional<CatalogItem> findBySlug(String slug) {
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    public List<CatalogItem> itemsByCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<ProductResponse> activeProducts() {
+        return activeProducts;
+    }
+
+    public List<ProductResponse> activeProducts(String category) {
+        return activeProductsByCategory.getOrDefault(category, List.of());
+    }
+
+    /**
+     * Produtos ativos já combinados com preço vigente e estoque, montados uma vez por
+     * fotografia para o grid do storefront.
+     */
+    public List<StorefrontProductResponse> storefrontProducts() {
+        return storefrontProducts;
+    }
+
+    public List<StorefrontProductResponse> storefrontProducts(String category) {
+        return storefrontProductsByCategory.getOrDefault(category, List.of());
+    }
+}
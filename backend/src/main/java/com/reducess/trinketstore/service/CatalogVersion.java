@@ -0,0 +1,50 @@
+package com.reducess.trinketstore.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versão monotônica do catálogo, incrementada a cada troca de fotografia do
+ * {@link CatalogCache} (ou seja, a cada escrita confirmada em produtos, preços ou
+ * estoque). Alimenta os validadores HTTP ({@code ETag}/{@code Last-Modified}).
+ * O prefixo aleatório por instância evita reaproveitar um ETag após reinício.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String instanceTag = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicReference<Current> current = new AtomicReference<>(
+            new Current(0, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())));
+
+    public Current current() {
+        return current.get();
+    }
+
+    public String etag(Current version) {
+        return "\"" + instanceTag + "-" + version.version() + "\"";
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        bump();
+    }
+
+    public Current bump() {
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        // Last-Modified tem resolução de segundos: duas versões nunca compartilham o mesmo valor
+        return current.updateAndGet(previous -> new Current(
+                previous.version() + 1,
+                Math.max(nowSeconds, previous.lastModifiedSeconds() + 1)));
+    }
+
+    public record Current(long version, long lastModifiedSeconds) {
+
+        public long lastModifiedMillis() {
+            return TimeUnit.SECONDS.toMillis(lastModifiedSeconds);
+        }
+    }
+}
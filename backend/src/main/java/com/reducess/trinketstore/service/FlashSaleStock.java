@@ -0,0 +1,388 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.FlashSaleResponse;
+import com.reducess.trinketstore.exception.InsufficientStockException;
+import com.reducess.trinketstore.exception.InventoryConflictException;
+import com.reducess.trinketstore.exception.InventoryNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Modo flash sale: o saldo dos produtos selecionados fica em contadores atômicos
+ * em faixas ({@link StripedStockCounter}) e o checkout baixa dali sem tocar na linha de
+ * {@code inventory}. A baixa persistente é adiada: os itens do pedido são gravados com
+ * {@code stock_pending} na própria transação do checkout e um flusher aplica, em lote e
+ * com um único comando, o que estiver pendente. Como o pendente está no banco, um
+ * restart só precisa aplicá-lo e reler o saldo para reconstruir os contadores.
+ *
+ * <p>Os contadores vivem na memória desta instância: o modo supõe uma única instância
+ * atendendo o checkout, como a fotografia do {@link CatalogCache}.
+ */
+@Slf4j
+@Component
+public class FlashSaleStock {
+
+    /**
+     * Aplica os itens pendentes ao inventário, bloqueando as linhas em ordem de produto e
+     * dobrando junto a cauda do razão (as reposições feitas durante a flash sale já foram
+     * vendidas pelo contador). Cada baixa aplicada entra no razão com o pedido de origem.
+     */
+    private static final String APPLY_PENDING =
+            "WITH applied AS (" +
+            "UPDATE order_items SET stock_pending = FALSE WHERE stock_pending %s " +
+            "RETURNING order_id, product_id, qty_items), " +
+            "pending AS (" +
+            "SELECT product_id, SUM(qty_items)::INTEGER AS qty FROM applied GROUP BY product_id), " +
+            "locked AS (" +
+            "SELECT i.product_id FROM inventory i JOIN pending p ON p.product_id = i.product_id " +
+            "ORDER BY i.product_id FOR UPDATE OF i), " +
+            "folded AS (" +
+            "UPDATE inventory_movements m SET compacted = TRUE FROM locked l " +
+            "WHERE m.product_id = l.product_id AND NOT m.compacted RETURNING m.product_id, m.delta_qty), " +
+            "tail AS (" +
+            "SELECT product_id, SUM(delta_qty)::INTEGER AS qty FROM folded GROUP BY product_id), " +
+            "flushed AS (" +
+            "UPDATE inventory i SET qty_on_hand = i.qty_on_hand + COALESCE(t.qty, 0) - p.qty " +
+            "FROM pending p JOIN locked l ON l.product_id = p.product_id " +
+            "LEFT JOIN tail t ON t.product_id = p.product_id " +
+            "WHERE i.product_id = p.product_id RETURNING i.product_id), " +
+            "recorded AS (" +
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, order_id, compacted) " +
+            "SELECT a.product_id, -SUM(a.qty_items), 'checkout', a.order_id, TRUE FROM applied a " +
+            "JOIN locked l ON l.product_id = a.product_id GROUP BY a.order_id, a.product_id) " +
+            "SELECT product_id FROM flushed";
+    private static final String FLUSH = APPLY_PENDING.formatted("");
+    private static final String FLUSH_ORDER = APPLY_PENDING.formatted("AND order_id = ?");
+    /** Saldo disponível: fotografia mais a cauda do razão de estoque. */
+    private static final String ON_HAND =
+            "i.qty_on_hand + COALESCE((SELECT SUM(m.delta_qty) FROM inventory_movements m " +
+            "WHERE m.product_id = i.product_id AND NOT m.compacted), 0)::INTEGER";
+    private static final String LOCK_INVENTORY =
+            "SELECT " + ON_HAND + " FROM inventory i WHERE i.product_id = ? FOR UPDATE OF i";
+    private static final String INSERT_FLASH_SALE =
+            "INSERT INTO flash_sale_products (product_id) VALUES (?) ON CONFLICT (product_id) DO NOTHING";
+    private static final String DELETE_FLASH_SALE =
+            "DELETE FROM flash_sale_products WHERE product_id = ?";
+    private static final String ACTIVE_FLASH_SALES =
+            "SELECT f.product_id, " + ON_HAND + " FROM flash_sale_products f " +
+            "JOIN inventory i ON i.product_id = f.product_id";
+    private static final Duration SETTLE_POLL = Duration.ofMillis(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int stripes;
+    private final Duration flushInterval;
+    private final Duration settleTimeout;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+
+    private final Map<Integer, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    /**
+     * Checkouts e alterações fora do modo seguram a leitura enquanto decidem o caminho e
+     * executam o UPDATE; início e fim de uma flash sale seguram a escrita, então nenhuma
+     * baixa no banco escapa da leitura do saldo inicial nem concorre com o acerto final.
+     */
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+
+    public FlashSaleStock(JdbcTemplate jdbcTemplate,
+                          CatalogCache catalogCache,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.flash-sale.flush-enabled:true}") boolean enabled,
+                          @Value("${inventory.flash-sale.stripes:0}") int stripes,
+                          @Value("${inventory.flash-sale.flush-interval:PT1S}") Duration flushInterval,
+                          @Value("${inventory.flash-sale.settle-timeout:PT10S}") Duration settleTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogCache = catalogCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        // Padrão: uma faixa por núcleo, arredondado para potência de 2
+        int requested = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.stripes = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.flushInterval = flushInterval;
+        this.settleTimeout = settleTimeout;
+    }
+
+    public boolean isActive(Integer productId) {
+        return counters.containsKey(productId);
+    }
+
+    /**
+     * Baixa os itens do pedido: os produtos em flash sale saem dos contadores em memória
+     * e os demais passam por {@code regularDecrement}, que devolve os produtos sem saldo.
+     * Se faltar estoque em qualquer caminho, lança {@link InsufficientStockException}.
+     * Deve rodar dentro da transação do checkout: no rollback as unidades voltam ao contador.
+     *
+     * @return produtos baixados da flash sale, cuja baixa no banco fica pendente
+     */
+    public Set<Integer> decrement(Map<Integer, Integer> requested,
+                                  Function<Map<Integer, Integer>, List<Integer>> regularDecrement) {
+        Lock lock = gate.readLock();
+        lock.lock();
+        try {
+            Map<Integer, Integer> flash = new LinkedHashMap<>();
+            Map<Integer, Integer> regular = new LinkedHashMap<>();
+            requested.forEach((productId, quantity) ->
+                    (counters.containsKey(productId) ? flash : regular).put(productId, quantity));
+
+            if (!regular.isEmpty()) {
+                List<Integer> shortProducts = regularDecrement.apply(regular);
+                if (!shortProducts.isEmpty()) {
+                    throw new InsufficientStockException(shortProducts);
+                }
+            }
+            if (!flash.isEmpty()) {
+                claim(flash);
+            }
+            return flash.keySet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Executa uma alteração de estoque que não pode acontecer em flash sale (remoção,
+     * ajuste absoluto, exclusão). O início de uma flash sale espera a alteração terminar;
+     * por isso ela deve enviar o UPDATE ao banco antes de retornar.
+     */
+    public <T> T outsideFlashSale(Collection<Integer> productIds, Supplier<T> change) {
+        return excludingFlashSale(inFlashSale -> {
+            for (Integer productId : productIds) {
+                if (inFlashSale.contains(productId)) {
+                    throw new InventoryConflictException(
+                            "Produto " + productId + " está em flash sale; encerre-a antes de ajustar o estoque");
+                }
+            }
+            return change.get();
+        });
+    }
+
+    /**
+     * Variante para lotes de {@link #outsideFlashSale}: {@code change} recebe os produtos
+     * em flash sale e deve deixá-los de fora, em vez de abortar o lote inteiro.
+     */
+    public <T> T excludingFlashSale(Function<Set<Integer>, T> change) {
+        Lock lock = gate.readLock();
+        lock.lock();
+        try {
+            return change.apply(Collections.unmodifiableSet(counters.keySet()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Repõe no contador, após o commit, a entrada de estoque gravada no inventário.
+     */
+    public void restock(Integer productId, int quantity) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null || quantity <= 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.release(quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.release(quantity);
+            }
+        });
+    }
+
+    /**
+     * Aplica já, na transação corrente, a baixa pendente dos itens de um pedido (ex.:
+     * antes de excluí-lo e repor o estoque).
+     */
+    public void applyPending(Integer orderId) {
+        catalogCache.markChanged(jdbcTemplate.queryForList(FLUSH_ORDER, Integer.class, orderId));
+    }
+
+    public List<FlashSaleResponse> getActive() {
+        return counters.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Coloca o produto em flash sale. O saldo inicial é lido com a linha de inventário
+     * bloqueada, depois de aplicar qualquer baixa pendente.
+     */
+    public FlashSaleResponse start(Integer productId) {
+        Lock lock = gate.writeLock();
+        lock.lock();
+        try {
+            StripedStockCounter existing = counters.get(productId);
+            if (existing != null) {
+                return toResponse(productId, existing);
+            }
+            flush();
+            Integer onHand = transactionTemplate.execute(status -> {
+                Integer qtyOnHand = jdbcTemplate.query(LOCK_INVENTORY,
+                        resultSet -> resultSet.next() ? resultSet.getInt(1) : null, productId);
+                if (qtyOnHand == null) {
+                    throw new InventoryNotFoundException("Inventário não encontrado para este produto");
+                }
+                jdbcTemplate.update(INSERT_FLASH_SALE, productId);
+                return qtyOnHand;
+            });
+            StripedStockCounter counter = new StripedStockCounter(stripes, onHand);
+            counters.put(productId, counter);
+            log.info("[flash-sale] Produto {} em flash sale com {} unidades em {} faixas", productId, onHand, stripes);
+            return toResponse(productId, counter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Encerra a flash sale: espera as baixas em andamento terminarem e aplica o pendente,
+     * deixando o inventário exato antes de o produto voltar ao caminho normal.
+     */
+    public void end(Integer productId) {
+        Lock lock = gate.writeLock();
+        lock.lock();
+        try {
+            StripedStockCounter counter = counters.remove(productId);
+            if (counter == null) {
+                throw new InventoryNotFoundException("Produto não está em flash sale");
+            }
+            jdbcTemplate.update(DELETE_FLASH_SALE, productId);
+            if (!awaitSettled(counter)) {
+                log.warn("[flash-sale] Produto {} encerrado com baixas ainda em andamento", productId);
+            }
+            flush();
+            log.info("[flash-sale] Produto {} saiu da flash sale com {} unidades", productId, counter.available());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói os contadores ao subir: aplica as baixas pendentes deixadas pela execução
+     * anterior e lê o saldo de cada produto ainda marcado em {@code flash_sale_products}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Lock lock = gate.writeLock();
+        lock.lock();
+        try {
+            flush();
+            jdbcTemplate.query(ACTIVE_FLASH_SALES, resultSet -> {
+                counters.put(resultSet.getInt(1), new StripedStockCounter(stripes, resultSet.getInt(2)));
+            });
+            if (!counters.isEmpty()) {
+                log.info("[flash-sale] {} produtos em flash sale restaurados", counters.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (enabled) {
+            long intervalMillis = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flush() {
+        try {
+            List<Integer> flushed = jdbcTemplate.queryForList(FLUSH, Integer.class);
+            if (!flushed.isEmpty()) {
+                log.debug("[flash-sale] Baixas pendentes aplicadas para {} produtos", flushed.size());
+                catalogCache.markChanged(flushed);
+            }
+        } catch (Exception e) {
+            log.error("[flash-sale] Erro ao aplicar as baixas pendentes", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownFlusher() {
+        flusher.shutdownNow();
+        // Último acerto antes de desligar; o que sobrar é aplicado no próximo rebuild
+        flush();
+    }
+
+    /**
+     * Tudo ou nada: se algum produto não tiver saldo, devolve o que já foi retirado.
+     */
+    private void claim(Map<Integer, Integer> flash) {
+        List<Integer> shortProducts = new ArrayList<>();
+        Map<StripedStockCounter, Integer> claimed = new LinkedHashMap<>();
+        flash.forEach((productId, quantity) -> {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter.tryClaim(quantity)) {
+                claimed.put(counter, quantity);
+            } else {
+                shortProducts.add(productId);
+            }
+        });
+        if (!shortProducts.isEmpty()) {
+            claimed.forEach(StripedStockCounter::release);
+            throw new InsufficientStockException(shortProducts.stream().sorted().toList());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        claimed.keySet().forEach(StripedStockCounter::enter);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                claimed.forEach((counter, quantity) -> {
+                    if (status != STATUS_COMMITTED) {
+                        counter.release(quantity);
+                    }
+                    counter.exit();
+                });
+            }
+        });
+    }
+
+    private boolean awaitSettled(StripedStockCounter counter) {
+        long deadline = System.nanoTime() + settleTimeout.toNanos();
+        while (!counter.isSettled()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(SETTLE_POLL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FlashSaleResponse toResponse(Integer productId, StripedStockCounter counter) {
+        return new FlashSaleResponse(productId, counter.available(), counter.stripes());
+    }
+}
@@ -0,0 +1,261 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.InventoryMovementResponse;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
+import com.reducess.trinketstore.entity.InventoryMovement;
+import com.reducess.trinketstore.exception.InventoryNotFoundException;
+import com.reducess.trinketstore.repository.InventoryMovementRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Razão de estoque ({@code inventory_movements}). Toda movimentação vira uma linha; o
+ * {@code qty_on_hand} do inventário é a fotografia das linhas já compactadas.
+ *
+ * <p>Entradas (recebimento, reposição de pedidos) só acrescentam linhas à cauda, sem
+ * tocar na linha de inventário, e por isso não disputam bloqueio com o checkout. Saídas e
+ * ajustes precisam validar o saldo: bloqueiam a linha, dobram a cauda na fotografia e
+ * aplicam a movimentação no mesmo comando. Um compactador periódico dobra o restante.
+ */
+@Slf4j
+@Service
+public class InventoryLedger {
+
+    public static final String OPENING = "opening";
+    public static final String RECEIPT = "receipt";
+    public static final String RESTOCK = "restock";
+    public static final String REMOVAL = "removal";
+    public static final String ADJUSTMENT = "adjustment";
+
+    private static final String APPEND =
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, order_id) " +
+            "SELECT product_id, ?, ?, ? FROM inventory WHERE product_id = ?";
+    private static final String RECORD =
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, order_id, compacted) " +
+            "VALUES (?, ?, ?, ?, TRUE)";
+    /**
+     * Bloqueia as linhas (em ordem de produto), dobra a cauda e aplica a cada uma um delta
+     * ou um valor absoluto. Linhas cujo saldo ficaria negativo só têm a cauda dobrada.
+     * Devolve, por linha do lote, o saldo antes e o pretendido; sem inventário, nulos.
+     */
+    private static final String APPLY =
+            "WITH lines AS (" +
+            "SELECT * FROM unnest(?::INTEGER[], ?::INTEGER[], ?::INTEGER[], ?::INTEGER[]) " +
+            "AS l(line_no, product_id, delta_qty, absolute_qty)), " +
+            "locked AS (" +
+            "SELECT i.product_id, i.qty_on_hand FROM inventory i JOIN lines l ON l.product_id = i.product_id " +
+            "ORDER BY i.product_id FOR UPDATE OF i), " +
+            "folded AS (" +
+            "UPDATE inventory_movements m SET compacted = TRUE FROM locked l " +
+            "WHERE m.product_id = l.product_id AND NOT m.compacted RETURNING m.product_id, m.delta_qty), " +
+            "balance AS (" +
+            "SELECT l.product_id, l.qty_on_hand + COALESCE(SUM(f.delta_qty), 0)::INTEGER AS qty_before " +
+            "FROM locked l LEFT JOIN folded f ON f.product_id = l.product_id " +
+            "GROUP BY l.product_id, l.qty_on_hand), " +
+            "target AS (" +
+            "SELECT l.line_no, b.product_id, b.qty_before, " +
+            "COALESCE(l.absolute_qty, b.qty_before + l.delta_qty) AS qty_after " +
+            "FROM lines l JOIN balance b ON b.product_id = l.product_id), " +
+            "applied AS (" +
+            "UPDATE inventory i SET qty_on_hand = CASE WHEN t.qty_after >= 0 THEN t.qty_after ELSE t.qty_before END " +
+            "FROM target t WHERE i.product_id = t.product_id RETURNING i.product_id), " +
+            "recorded AS (" +
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, compacted) " +
+            "SELECT product_id, qty_after - qty_before, ?, TRUE FROM target WHERE qty_after >= 0 AND qty_after <> qty_before) " +
+            "SELECT l.line_no, l.product_id, t.qty_before, t.qty_after " +
+            "FROM lines l LEFT JOIN target t ON t.line_no = l.line_no ORDER BY l.line_no";
+    /**
+     * Compacta a cauda de todos os produtos cuja linha de inventário estiver livre; os
+     * bloqueados (checkout em andamento) ficam para a próxima rodada.
+     */
+    private static final String COMPACT =
+            "WITH candidates AS (" +
+            "SELECT DISTINCT product_id FROM inventory_movements WHERE NOT compacted), " +
+            "locked AS (" +
+            "SELECT i.product_id FROM inventory i JOIN candidates c ON c.product_id = i.product_id " +
+            "ORDER BY i.product_id FOR UPDATE OF i SKIP LOCKED), " +
+            "folded AS (" +
+            "UPDATE inventory_movements m SET compacted = TRUE FROM locked l " +
+            "WHERE m.product_id = l.product_id AND NOT m.compacted RETURNING m.product_id, m.delta_qty), " +
+            "tail AS (" +
+            "SELECT product_id, SUM(delta_qty)::INTEGER AS qty FROM folded GROUP BY product_id), " +
+            "compacted AS (" +
+            "UPDATE inventory i SET qty_on_hand = i.qty_on_hand + t.qty FROM tail t " +
+            "WHERE i.product_id = t.product_id RETURNING i.product_id) " +
+            "SELECT COUNT(*) FROM compacted";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryMovementRepository movementRepository;
+    private final boolean enabled;
+    private final Duration compactionInterval;
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor();
+
+    public InventoryLedger(JdbcTemplate jdbcTemplate,
+                           InventoryMovementRepository movementRepository,
+                           @Value("${inventory.ledger.compaction-enabled:true}") boolean enabled,
+                           @Value("${inventory.ledger.compaction-interval:PT5S}") Duration compactionInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movementRepository = movementRepository;
+        this.enabled = enabled;
+        this.compactionInterval = compactionInterval;
+    }
+
+    /**
+     * Acrescenta entradas à cauda do razão em um único lote, sem bloquear o inventário.
+     * Lança {@link InventoryNotFoundException} se algum produto não tiver inventário.
+     */
+    public void append(List<Movement> movements) {
+        int[][] inserted = jdbcTemplate.batchUpdate(APPEND, movements, movements.size(), (ps, movement) -> {
+            ps.setInt(1, movement.deltaQty());
+            ps.setString(2, movement.reason());
+            ps.setObject(3, movement.orderId(), Types.INTEGER);
+            ps.setInt(4, movement.productId());
+        });
+        for (int[] batch : inserted) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new InventoryNotFoundException("Inventário não encontrado para este produto");
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra movimentações já refletidas em {@code qty_on_hand} pelo chamador.
+     */
+    public void record(List<Movement> movements) {
+        jdbcTemplate.batchUpdate(RECORD, movements, movements.size(), (ps, movement) -> {
+            ps.setInt(1, movement.productId());
+            ps.setInt(2, movement.deltaQty());
+            ps.setString(3, movement.reason());
+            ps.setObject(4, movement.orderId(), Types.INTEGER);
+        });
+    }
+
+    /**
+     * Aplica um delta ({@code absolute} nulo) ou um valor absoluto ao saldo do produto.
+     * O chamador decide o que fazer se {@link Balance#after()} for negativo: nada foi aplicado.
+     */
+    public Balance apply(Integer productId, Integer absolute, int delta, String reason) {
+        Adjusted adjusted = apply(List.of(new Adjustment(1, productId, delta, absolute)), reason).get(0);
+        if (adjusted.balance() == null) {
+            throw new InventoryNotFoundException("Inventário não encontrado para este produto");
+        }
+        return adjusted.balance();
+    }
+
+    /**
+     * Versão em lote de {@link #apply(Integer, Integer, int, String)}: um único comando
+     * para todas as linhas, cada uma aplicada ou recusada isoladamente. Os produtos do lote
+     * devem ser distintos. O resultado segue a ordem de {@link Adjustment#line()}; linhas
+     * sem inventário voltam com {@link Adjusted#balance()} nulo.
+     */
+    public List<Adjusted> apply(List<Adjustment> adjustments, String reason) {
+        Integer[] lines = new Integer[adjustments.size()];
+        Integer[] productIds = new Integer[adjustments.size()];
+        Integer[] deltas = new Integer[adjustments.size()];
+        Integer[] absolutes = new Integer[adjustments.size()];
+        for (int index = 0; index < adjustments.size(); index++) {
+            Adjustment adjustment = adjustments.get(index);
+            lines[index] = adjustment.line();
+            productIds[index] = adjustment.productId();
+            deltas[index] = adjustment.delta();
+            absolutes[index] = adjustment.absolute();
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY);
+            statement.setArray(1, connection.createArrayOf("integer", lines));
+            statement.setArray(2, connection.createArrayOf("integer", productIds));
+            statement.setArray(3, connection.createArrayOf("integer", deltas));
+            statement.setArray(4, connection.createArrayOf("integer", absolutes));
+            statement.setString(5, reason);
+            return statement;
+        }, (resultSet, rowNum) -> {
+            int qtyBefore = resultSet.getInt(3);
+            Balance balance = resultSet.wasNull() ? null : new Balance(qtyBefore, resultSet.getInt(4));
+            return new Adjusted(resultSet.getInt(1), resultSet.getInt(2), balance);
+        });
+    }
+
+    /**
+     * Dobra a cauda do produto na fotografia, com a linha bloqueada até o fim da transação.
+     *
+     * @return o saldo compactado
+     */
+    public int compact(Integer productId) {
+        return apply(productId, null, 0, ADJUSTMENT).before();
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryMovementResponse> getMovements(Integer productId, OffsetPageRequest page, int defaultPageSize) {
+        return movementRepository.findByProductId(productId,
+                        page.toPageable(Sort.by(Sort.Direction.DESC, "idMovement"), defaultPageSize))
+                .map(this::mapToMovementResponse);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCompactor() {
+        if (!enabled) {
+            return;
+        }
+        long intervalMillis = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void compactAll() {
+        try {
+            Long compacted = jdbcTemplate.queryForObject(COMPACT, Long.class);
+            if (compacted != null && compacted > 0) {
+                log.debug("[ledger] Cauda do razão compactada para {} produtos", compacted);
+            }
+        } catch (Exception e) {
+            log.error("[ledger] Erro ao compactar o razão de estoque", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownCompactor() {
+        compactor.shutdownNow();
+    }
+
+    private InventoryMovementResponse mapToMovementResponse(InventoryMovement movement) {
+        return new InventoryMovementResponse(
+                movement.getIdMovement(),
+                movement.getProductId(),
+                movement.getDeltaQty(),
+                movement.getReasonMovement(),
+                movement.getOrderId(),
+                movement.getCompacted(),
+                movement.getCreatedAt()
+        );
+    }
+
+    public record Movement(Integer productId, int deltaQty, String reason, Integer orderId) {
+    }
+
+    public record Balance(int before, int after) {
+    }
+
+    /** Linha de um ajuste em lote: {@code absolute} nulo aplica {@code delta}. */
+    public record Adjustment(int line, Integer productId, Integer delta, Integer absolute) {
+    }
+
+    public record Adjusted(int line, Integer productId, Balance balance) {
+    }
+}
@@ -1,27 +1,94 @@
 package com.reducess.trinketstore.service;
 
 import com.reducess.trinketstore.dto.CreateInventoryRequest;
+import com.reducess.trinketstore.dto.InventoryMovementResponse;
 import com.reducess.trinketstore.dto.InventoryResponse;
 import com.reducess.trinketstore.dto.CreateOrderItemRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.UpdateInventoryRequest;
 import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.exception.InsufficientStockException;
 import com.reducess.trinketstore.exception.InventoryConflictException;
 import com.reducess.trinketstore.exception.InventoryNotFoundException;
 import com.reducess.trinketstore.repository.InventoryRepository;
 import com.reducess.trinketstore.repository.ProductRepository;
+import com.reducess.trinketstore.service.InventoryLedger.Balance;
+import com.reducess.trinketstore.service.InventoryLedger.Movement;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
 
+    /**
+     * Baixa condicional de vários produtos em um único comando. As quantidades repetidas
+     * são somadas por produto, as linhas são bloqueadas em ordem de {@code product_id}
+     * (checkouts concorrentes com vários itens não entram em deadlock), a cauda do razão
+     * é dobrada na fotografia e cada linha só é decrementada se tiver saldo. As baixas
+     * feitas entram no razão. Devolve os produtos que ficaram de fora.
+     */
+    private static final String DECREMENT_STOCK =
+            "WITH requested AS (" +
+            "SELECT product_id, SUM(qty)::INTEGER AS qty FROM unnest(?, ?) AS r(product_id, qty) " +
+            "GROUP BY product_id), " +
+            "locked AS (" +
+            "SELECT i.product_id, i.qty_on_hand FROM inventory i JOIN requested r ON r.product_id = i.product_id " +
+            "ORDER BY i.product_id FOR UPDATE OF i), " +
+            "folded AS (" +
+            "UPDATE inventory_movements m SET compacted = TRUE FROM locked l " +
+            "WHERE m.product_id = l.product_id AND NOT m.compacted RETURNING m.product_id, m.delta_qty), " +
+            "balance AS (" +
+            "SELECT l.product_id, r.qty, l.qty_on_hand + COALESCE(SUM(f.delta_qty), 0)::INTEGER AS on_hand " +
+            "FROM locked l JOIN requested r ON r.product_id = l.product_id " +
+            "LEFT JOIN folded f ON f.product_id = l.product_id GROUP BY l.product_id, l.qty_on_hand, r.qty), " +
+            "decremented AS (" +
+            "UPDATE inventory i SET qty_on_hand = b.on_hand - CASE WHEN b.on_hand >= b.qty THEN b.qty ELSE 0 END " +
+            "FROM balance b WHERE i.product_id = b.product_id " +
+            "RETURNING i.product_id, b.qty, b.on_hand >= b.qty AS enough), " +
+            "recorded AS (" +
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, order_id, compacted) " +
+            "SELECT product_id, -qty, 'checkout', ?, TRUE FROM decremented WHERE enough) " +
+            "SELECT r.product_id FROM requested r " +
+            "WHERE NOT EXISTS (SELECT 1 FROM decremented d WHERE d.product_id = r.product_id AND d.enough) " +
+            "ORDER BY r.product_id";
+
+    /** Campos aceitos em {@code sort}, mapeados para os caminhos da consulta com join. */
+    private static final Map<String, String> SORTABLE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        SORTABLE_FIELDS.put("idInventory", "i.idInventory");
+        SORTABLE_FIELDS.put("qtyOnHand", "i.qtyOnHand + i.qtyPending");
+        SORTABLE_FIELDS.put("nomeProduct", "p.nomeProduct");
+        SORTABLE_FIELDS.put("categoriaProduct", "p.categoriaProduct");
+    }
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
+    private final CatalogCache catalogCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final FlashSaleStock flashSaleStock;
+    private final InventoryLedger inventoryLedger;
+
+    @Value("${catalog.pagination.default-page-size:24}")
+    private int defaultPageSize;
 
     @Transactional
     public InventoryResponse createInventory(CreateInventoryRequest request) {
@@ -43,6 +110,11 @@ public class InventoryService {
         inventory.setQtyOnHand(request.getQtyOnHand());
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        if (savedInventory.getQtyOnHand() > 0) {
+            inventoryLedger.record(List.of(new Movement(
+                    savedInventory.getProductId(), savedInventory.getQtyOnHand(), InventoryLedger.OPENING, null)));
+        }
+        catalogCache.markChanged(savedInventory.getProductId());
         return mapToInventoryResponse(savedInventory);
     }
 
@@ -72,30 +144,37 @@ public class InventoryService {
     }
 
     @Transactional(readOnly = true)
-    public List<InventoryResponse> getAllInventories() {
-        return inventoryRepository.findAll().stream()
-                .map(this::mapToInventoryResponse)
-                .collect(Collectors.toList());
+    public Slice<InventoryResponse> getAllInventories(OffsetPageRequest page, String sort, String direction) {
+        return inventoryRepository.findResponses(null, null, toPageable(page, sort, direction));
     }
 
     @Transactional(readOnly = true)
-    public List<InventoryResponse> getInventoriesWithStock() {
-        return inventoryRepository.findByQtyOnHandGreaterThan(0).stream()
-                .map(this::mapToInventoryResponse)
-                .collect(Collectors.toList());
+    public Slice<InventoryResponse> getInventoriesWithStock(OffsetPageRequest page, String sort, String direction) {
+        return inventoryRepository.findResponses(0, null, toPageable(page, sort, direction));
     }
 
     @Transactional(readOnly = true)
-    public List<InventoryResponse> getInventoriesWithLowStock(Integer threshold) {
-        return inventoryRepository.findByQtyOnHandLessThan(threshold).stream()
-                .map(this::mapToInventoryResponse)
-                .collect(Collectors.toList());
+    public Slice<InventoryResponse> getInventoriesWithLowStock(Integer threshold, OffsetPageRequest page,
+                                                               String sort, String direction) {
+        return inventoryRepository.findResponses(null, threshold, toPageable(page, sort, direction));
     }
 
     @Transactional
     public InventoryResponse updateInventory(Integer id, UpdateInventoryRequest request) {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado"));
+        List<Integer> touched = request.getProductId() != null
+                ? List.of(inventory.getProductId(), request.getProductId())
+                : List.of(inventory.getProductId());
+        return flashSaleStock.outsideFlashSale(touched, () -> applyUpdate(inventory, request));
+    }
+
+    private InventoryResponse applyUpdate(Inventory inventory, UpdateInventoryRequest request) {
+        Integer previousProductId = inventory.getProductId();
+        // Bloqueia a linha e dobra a cauda do razão antes de regravar a fotografia
+        int compacted = inventoryLedger.compact(previousProductId);
+        inventory.setQtyOnHand(compacted);
+        inventory.setQtyPending(0);
 
         // Se está alterando o produto, verifica se o novo produto existe
         if (request.getProductId() != null && !request.getProductId().equals(inventory.getProductId())) {
@@ -106,14 +185,35 @@ public class InventoryService {
             if (inventoryRepository.existsByProductId(request.getProductId())) {
                 throw new InventoryConflictException("Já existe inventário para este produto");
             }
+            catalogCache.markChanged(inventory.getProductId());
             inventory.setProductId(request.getProductId());
         }
 
         if (request.getQtyOnHand() != null) {
+            if (request.getQtyOnHand() < 0) {
+                throw new InventoryConflictException("Quantidade inválida");
+            }
             inventory.setQtyOnHand(request.getQtyOnHand());
         }
 
-        Inventory updatedInventory = inventoryRepository.save(inventory);
+        Inventory updatedInventory = inventoryRepository.saveAndFlush(inventory);
+        List<Movement> movements = new ArrayList<>(2);
+        if (!previousProductId.equals(updatedInventory.getProductId())) {
+            if (compacted != 0) {
+                movements.add(new Movement(previousProductId, -compacted, InventoryLedger.ADJUSTMENT, null));
+            }
+            if (updatedInventory.getQtyOnHand() != 0) {
+                movements.add(new Movement(updatedInventory.getProductId(), updatedInventory.getQtyOnHand(),
+                        InventoryLedger.ADJUSTMENT, null));
+            }
+        } else if (updatedInventory.getQtyOnHand() != compacted) {
+            movements.add(new Movement(updatedInventory.getProductId(), updatedInventory.getQtyOnHand() - compacted,
+                    InventoryLedger.ADJUSTMENT, null));
+        }
+        if (!movements.isEmpty()) {
+            inventoryLedger.record(movements);
+        }
+        catalogCache.markChanged(updatedInventory.getProductId());
         return mapToInventoryResponse(updatedInventory);
     }
 
@@ -126,10 +226,14 @@ public class InventoryService {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado"));
 
-        inventory.setQtyOnHand(inventory.getQtyOnHand() + quantity);
+        // Entrada vai só para a cauda do razão: sem bloquear a linha de inventário
+        inventoryLedger.append(List.of(new Movement(inventory.getProductId(), quantity, InventoryLedger.RECEIPT, null)));
+        flashSaleStock.restock(inventory.getProductId(), quantity);
+        catalogCache.markChanged(inventory.getProductId());
 
-        Inventory updatedInventory = inventoryRepository.save(inventory);
-        return mapToInventoryResponse(updatedInventory);
+        InventoryResponse response = mapToInventoryResponse(inventory);
+        response.setQtyOnHand(response.getQtyOnHand() + quantity);
+        return response;
     }
 
     @Transactional
@@ -141,28 +245,43 @@ public class InventoryService {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado"));
 
-        int newQuantity = inventory.getQtyOnHand() - quantity;
-        if (newQuantity < 0) {
-            throw new InventoryConflictException("Quantidade insuficiente em estoque");
-        }
-
-        inventory.setQtyOnHand(newQuantity);
+        return flashSaleStock.outsideFlashSale(List.of(inventory.getProductId()), () -> {
+            Balance balance = inventoryLedger.apply(inventory.getProductId(), null, -quantity, InventoryLedger.REMOVAL);
+            if (balance.after() < 0) {
+                throw new InventoryConflictException("Quantidade insuficiente em estoque");
+            }
+            catalogCache.markChanged(inventory.getProductId());
 
-        Inventory updatedInventory = inventoryRepository.save(inventory);
-        return mapToInventoryResponse(updatedInventory);
+            InventoryResponse response = mapToInventoryResponse(inventory);
+            response.setQtyOnHand(balance.after());
+            return response;
+        });
     }
 
     @Transactional
     public void deleteInventory(Integer id) {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado"));
-        inventoryRepository.delete(inventory);
+        flashSaleStock.outsideFlashSale(List.of(inventory.getProductId()), () -> {
+            closeLedger(inventory.getProductId());
+            inventoryRepository.delete(inventory);
+            inventoryRepository.flush();
+            return null;
+        });
+        catalogCache.markChanged(inventory.getProductId());
     }
 
     @Transactional
     public void deleteInventoryByProductId(Integer productId) {
-        inventoryRepository.findByProductId(productId)
-                .ifPresent(inventoryRepository::delete);
+        flashSaleStock.outsideFlashSale(List.of(productId), () -> {
+            inventoryRepository.findByProductId(productId).ifPresent(inventory -> {
+                closeLedger(productId);
+                inventoryRepository.delete(inventory);
+            });
+            inventoryRepository.flush();
+            return null;
+        });
+        catalogCache.markChanged(productId);
     }
 
     @Transactional
@@ -170,15 +289,12 @@ public class InventoryService {
         if (quantity == null || quantity <= 0) {
             throw new InventoryConflictException("Quantidade deve ser maior que zero");
         }
-        Inventory inventory = inventoryRepository.findByProductId(productId)
-                .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado para este produto"));
-
-        int newQuantity = inventory.getQtyOnHand() - quantity;
-        if (newQuantity < 0) {
+        Balance balance = flashSaleStock.outsideFlashSale(List.of(productId),
+                () -> inventoryLedger.apply(productId, null, -quantity, InventoryLedger.REMOVAL));
+        if (balance.after() < 0) {
             throw new InventoryConflictException("Estoque insuficiente para o produto ID " + productId);
         }
-        inventory.setQtyOnHand(newQuantity);
-        inventoryRepository.save(inventory);
+        catalogCache.markChanged(productId);
     }
 
     @Transactional
@@ -186,31 +302,129 @@ public class InventoryService {
         if (quantity == null || quantity <= 0) {
             return;
         }
-        Inventory inventory = inventoryRepository.findByProductId(productId)
-                .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado para este produto"));
-        inventory.setQtyOnHand(inventory.getQtyOnHand() + quantity);
-        inventoryRepository.save(inventory);
+        restock(List.of(new Movement(productId, quantity, InventoryLedger.RESTOCK, null)));
+    }
+
+    /**
+     * Devolve ao estoque os itens de um pedido com um único lote de inserts no razão.
+     */
+    @Transactional
+    public void restockOrder(Integer orderId, Map<Integer, Integer> quantities) {
+        List<Movement> movements = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            if (quantity != null && quantity > 0) {
+                movements.add(new Movement(productId, quantity, InventoryLedger.RESTOCK, orderId));
+            }
+        });
+        if (!movements.isEmpty()) {
+            restock(movements);
+        }
+    }
+
+    private void restock(List<Movement> movements) {
+        inventoryLedger.append(movements);
+        movements.forEach(movement -> flashSaleStock.restock(movement.productId(), movement.deltaQty()));
+        catalogCache.markChanged(movements.stream().map(Movement::productId).toList());
     }
 
+    @Transactional(readOnly = true)
+    public Slice<InventoryMovementResponse> getMovements(Integer productId, OffsetPageRequest page) {
+        return inventoryLedger.getMovements(productId, page, defaultPageSize);
+    }
+
+    /**
+     * Checagem prévia, sem bloqueio, feita antes de chamadas externas (ex.: criação do
+     * pagamento PIX). A garantia de fato vem de {@link #decrementStock(List)}.
+     */
     @Transactional(readOnly = true)
     public void verifyStockAvailability(List<CreateOrderItemRequest> items) {
+        Map<Integer, Integer> requested = requestedQuantities(items);
+        Map<Integer, Integer> onHand = new HashMap<>();
+        inventoryRepository.findByProductIdIn(requested.keySet())
+                .forEach(inventory -> onHand.put(inventory.getProductId(), inventory.getQtyAvailable()));
+        for (Map.Entry<Integer, Integer> entry : requested.entrySet()) {
+            Integer qtyOnHand = onHand.get(entry.getKey());
+            if (qtyOnHand == null) {
+                throw new InventoryNotFoundException("Inventário não encontrado para o produto " + entry.getKey());
+            }
+            if (qtyOnHand < entry.getValue()) {
+                throw new InventoryConflictException("Estoque insuficiente para o produto " + entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Reserva o estoque de todos os itens do pedido com um único UPDATE condicional
+     * ({@code qty_on_hand >= quantidade}), sem ler e regravar o inventário em Java.
+     * Produtos em flash sale saem dos contadores do {@link FlashSaleStock}.
+     * Se algum produto não tiver saldo ou inventário, lança {@link InsufficientStockException}
+     * com os ids e a transação inteira é desfeita.
+     *
+     * @param orderId pedido registrado nas movimentações do razão
+     * @return produtos em flash sale, cujos itens devem ser gravados com baixa pendente
+     */
+    @Transactional
+    public Set<Integer> decrementStock(Integer orderId, List<CreateOrderItemRequest> items) {
+        Map<Integer, Integer> requested = requestedQuantities(items);
+        Set<Integer> pending = flashSaleStock.decrement(requested, regular -> decrementInventory(orderId, regular));
+
+        Set<Integer> decremented = new HashSet<>(requested.keySet());
+        decremented.removeAll(pending);
+        catalogCache.markChanged(decremented);
+        return pending;
+    }
+
+    private List<Integer> decrementInventory(Integer orderId, Map<Integer, Integer> requested) {
+        Integer[] productIds = requested.keySet().toArray(Integer[]::new);
+        Integer[] quantities = requested.values().toArray(Integer[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DECREMENT_STOCK);
+            statement.setArray(1, connection.createArrayOf("integer", productIds));
+            statement.setArray(2, connection.createArrayOf("integer", quantities));
+            statement.setObject(3, orderId, Types.INTEGER);
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getInt(1));
+    }
+
+    /**
+     * Zera o saldo pelo razão antes de excluir o inventário: dobra a cauda e registra a
+     * saída do que restava. Sem isso a cauda sobreviveria à linha e voltaria como estoque
+     * fantasma quando o produto ganhasse um inventário novo.
+     */
+    private void closeLedger(Integer productId) {
+        inventoryLedger.apply(productId, 0, 0, InventoryLedger.ADJUSTMENT);
+    }
+
+    private Map<Integer, Integer> requestedQuantities(List<CreateOrderItemRequest> items) {
         if (items == null || items.isEmpty()) {
             throw new InventoryConflictException("Inclua ao menos um item no pedido.");
         }
+        Map<Integer, Integer> requested = new LinkedHashMap<>();
         for (CreateOrderItemRequest item : items) {
-            Inventory inventory = inventoryRepository.findByProductId(item.getProductId())
-                    .orElseThrow(() -> new InventoryNotFoundException("Inventário não encontrado para o produto " + item.getProductId()));
-            if (inventory.getQtyOnHand() < item.getQtyItems()) {
-                throw new InventoryConflictException("Estoque insuficiente para o produto " + item.getProductId());
+            if (item.getQtyItems() == null || item.getQtyItems() <= 0) {
+                throw new InventoryConflictException("Quantidade deve ser maior que zero");
             }
+            requested.merge(item.getProductId(), item.getQtyItems(), Integer::sum);
+        }
+        return requested;
+    }
+
+    private Pageable toPageable(OffsetPageRequest page, String sort, String direction) {
+        String path = SORTABLE_FIELDS.get(sort != null ? sort : "idInventory");
+        if (path == null) {
+            throw new RuntimeException("Ordenação deve ser: " + String.join(", ", SORTABLE_FIELDS.keySet()));
         }
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // Desempate por id para a paginação ser estável
+        Sort order = JpaSort.unsafe(sortDirection, path).and(JpaSort.unsafe(Sort.Direction.ASC, "i.idInventory"));
+        return page.toPageable(order, defaultPageSize);
     }
 
-    private InventoryResponse mapToInventoryResponse(Inventory inventory) {
+    InventoryResponse mapToInventoryResponse(Inventory inventory) {
         InventoryResponse response = new InventoryResponse();
         response.setIdInventory(inventory.getIdInventory());
         response.setProductId(inventory.getProductId());
-        response.setQtyOnHand(inventory.getQtyOnHand());
+        response.setQtyOnHand(inventory.getQtyAvailable());
 
         productRepository.findById(inventory.getProductId()).ifPresent(product -> {
             response.setNomeProduct(product.getNomeProduct());
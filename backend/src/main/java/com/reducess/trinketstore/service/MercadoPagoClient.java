@@ -13,6 +13,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -22,6 +24,8 @@ import java.util.UUID;
 @Slf4j
 public class MercadoPagoClient {
 
+    private static final DateTimeFormatter EXPIRATION_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+
     @Value("${mercadopago.base-url:https://api.mercadopago.com}")
     private String baseUrl;
 
@@ -50,6 +54,7 @@ public class MercadoPagoClient {
      * @param payerLastName     sobrenome do pagador (opcional)
      * @param payerDocumentType tipo do documento (ex: CPF)
      * @param payerDocument     número do documento
+     * @param expiresAt         expiração do QR Code (opcional; sem ela vale o padrão do Mercado Pago)
      */
     public MercadoPagoPaymentResponse createPixPayment(
             BigDecimal value,
@@ -59,7 +64,8 @@ public class MercadoPagoClient {
             String payerFirstName,
             String payerLastName,
             String payerDocumentType,
-            String payerDocument
+            String payerDocument,
+            OffsetDateTime expiresAt
     ) {
         Map<String, Object> body = new HashMap<>();
         body.put("transaction_amount", value);
@@ -84,6 +90,10 @@ public class MercadoPagoClient {
 
         body.put("payer", payer);
 
+        if (expiresAt != null) {
+            body.put("date_of_expiration", EXPIRATION_FORMAT.format(expiresAt));
+        }
+
         // Gera uma chave de idempotência única por tentativa
         String idempotencyKey = UUID.randomUUID().toString();
         log.info("Criando pagamento PIX no Mercado Pago com X-Idempotency-Key={}", idempotencyKey);
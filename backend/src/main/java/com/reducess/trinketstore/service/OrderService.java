@@ -2,6 +2,7 @@ package com.reducess.trinketstore.service;
 
 import com.reducess.trinketstore.dto.CreateOrderItemRequest;
 import com.reducess.trinketstore.dto.CreateOrderRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.OrderItemResponse;
 import com.reducess.trinketstore.dto.OrderResponse;
 import com.reducess.trinketstore.dto.UpdateOrderRequest;
@@ -11,10 +12,17 @@ import com.reducess.trinketstore.repository.OrderItemRepository;
 import com.reducess.trinketstore.repository.OrderRepository;
 import com.reducess.trinketstore.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +32,11 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final InventoryService inventoryService;
+    private final StockReservationService stockReservationService;
+    private final FlashSaleStock flashSaleStock;
+
+    @Value("${catalog.pagination.default-page-size:24}")
+    private int defaultPageSize;
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
@@ -37,9 +50,6 @@ public class OrderService {
             throw new RuntimeException("Já existe um pedido com este payment intent");
         }
 
-        inventoryService.verifyStockAvailability(request.getItems());
-        request.getItems().forEach(item -> inventoryService.removeStockByProductId(item.getProductId(), item.getQtyItems()));
-
         Order order = new Order();
         order.setUserId(request.getUserId());
         order.setStatusOrder(request.getStatusOrder() != null ? request.getStatusOrder() : "pending");
@@ -53,20 +63,25 @@ public class OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
-        // Salva os itens do pedido
+        // Baixa condicional de todos os itens em um único comando (flash sale: em memória).
+        // Vem depois do save para que o razão registre o pedido; o INSERT fica para o flush
+        Set<Integer> stockPending = inventoryService.decrementStock(savedOrder.getIdOrder(), request.getItems());
+
+        // Salva os itens do pedido (inseridos em lote no flush)
+        List<OrderItem> savedItems = List.of();
         if (request.getItems() != null && !request.getItems().isEmpty()) {
-            for (CreateOrderItemRequest itemRequest : request.getItems()) {
-                OrderItem item = new OrderItem();
-                item.setOrderId(savedOrder.getIdOrder());
-                item.setProductId(itemRequest.getProductId());
-                item.setQtyItems(itemRequest.getQtyItems());
-                item.setUnitAmount(itemRequest.getUnitAmount());
-                item.setSubtotalAmount(itemRequest.getSubtotalAmount());
-                orderItemRepository.save(item);
-            }
+            savedItems = orderItemRepository.saveAll(
+                    toOrderItems(savedOrder.getIdOrder(), request.getItems(), stockPending));
+        }
+
+        // Pedido PIX pendente: o estoque fica reservado até o QR Code expirar
+        if (savedOrder.getPixExpiresAt() != null && "pending".equals(savedOrder.getStatusOrder())) {
+            // A reserva é gravada via JDBC e referencia o pedido: envia os INSERTs pendentes antes
+            orderRepository.flush();
+            stockReservationService.hold(savedOrder.getIdOrder(), request.getItems(), savedOrder.getPixExpiresAt());
         }
 
-        return mapToOrderResponse(savedOrder);
+        return mapToOrderResponse(savedOrder, savedItems);
     }
 
     @Transactional(readOnly = true)
@@ -77,24 +92,18 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+    public Slice<OrderResponse> getAllOrders(OffsetPageRequest page) {
+        return mapToOrderResponses(orderRepository.findAllBy(toPageable(page)));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByUserId(Integer userId) {
-        return orderRepository.findByUserId(userId).stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+    public Slice<OrderResponse> getOrdersByUserId(Integer userId, OffsetPageRequest page) {
+        return mapToOrderResponses(orderRepository.findByUserId(userId, toPageable(page)));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByStatus(String status) {
-        return orderRepository.findByStatusOrder(status).stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+    public Slice<OrderResponse> getOrdersByStatus(String status, OffsetPageRequest page) {
+        return mapToOrderResponses(orderRepository.findByStatusOrder(status, toPageable(page)));
     }
 
     @Transactional(readOnly = true)
@@ -160,19 +169,13 @@ public class OrderService {
 
         // Atualiza os itens do pedido se fornecidos
         if (request.getItems() != null) {
+            // Itens de flash sale ainda não baixados do inventário: baixa antes de apagá-los
+            flashSaleStock.applyPending(id);
             // Remove os itens antigos
             orderItemRepository.deleteByOrderId(id);
 
             // Adiciona os novos itens
-            for (CreateOrderItemRequest itemRequest : request.getItems()) {
-                OrderItem item = new OrderItem();
-                item.setOrderId(id);
-                item.setProductId(itemRequest.getProductId());
-                item.setQtyItems(itemRequest.getQtyItems());
-                item.setUnitAmount(itemRequest.getUnitAmount());
-                item.setSubtotalAmount(itemRequest.getSubtotalAmount());
-                orderItemRepository.save(item);
-            }
+            orderItemRepository.saveAll(toOrderItems(id, request.getItems(), Set.of()));
         }
 
         Order updatedOrder = orderRepository.save(order);
@@ -209,7 +212,31 @@ public class OrderService {
         orderRepository.delete(order);
     }
 
-    private OrderResponse mapToOrderResponse(Order order) {
+    private Pageable toPageable(OffsetPageRequest page) {
+        return page.toPageable(Sort.by(Sort.Direction.DESC, "idOrder"), defaultPageSize);
+    }
+
+    /**
+     * Mapeia uma página de pedidos carregando os itens de todos eles em uma única
+     * consulta {@code IN}, em vez de uma consulta por pedido.
+     */
+    Slice<OrderResponse> mapToOrderResponses(Slice<Order> orders) {
+        if (!orders.hasContent()) {
+            return orders.map(order -> mapToOrderResponse(order, List.of()));
+        }
+        List<Integer> orderIds = orders.getContent().stream()
+                .map(Order::getIdOrder)
+                .collect(Collectors.toList());
+        Map<Integer, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        return orders.map(order -> mapToOrderResponse(order, itemsByOrder.getOrDefault(order.getIdOrder(), List.of())));
+    }
+
+    OrderResponse mapToOrderResponse(Order order) {
+        return mapToOrderResponse(order, orderItemRepository.findByOrderId(order.getIdOrder()));
+    }
+
+    OrderResponse mapToOrderResponse(Order order, List<OrderItem> items) {
         OrderResponse response = new OrderResponse();
         response.setIdOrder(order.getIdOrder());
         response.setUserId(order.getUserId());
@@ -223,8 +250,6 @@ public class OrderService {
         response.setPixExpiresAt(order.getPixExpiresAt());
         response.setCreatedAt(order.getCreatedAt());
 
-        // Busca os itens do pedido
-        List<OrderItem> items = orderItemRepository.findByOrderId(order.getIdOrder());
         List<OrderItemResponse> itemResponses = items.stream()
                 .map(this::mapToOrderItemResponse)
                 .collect(Collectors.toList());
@@ -233,6 +258,22 @@ public class OrderService {
         return response;
     }
 
+    private List<OrderItem> toOrderItems(Integer orderId, List<CreateOrderItemRequest> requests,
+                                         Set<Integer> stockPending) {
+        List<OrderItem> items = new ArrayList<>(requests.size());
+        for (CreateOrderItemRequest itemRequest : requests) {
+            OrderItem item = new OrderItem();
+            item.setOrderId(orderId);
+            item.setProductId(itemRequest.getProductId());
+            item.setQtyItems(itemRequest.getQtyItems());
+            item.setUnitAmount(itemRequest.getUnitAmount());
+            item.setSubtotalAmount(itemRequest.getSubtotalAmount());
+            item.setStockPending(stockPending.contains(itemRequest.getProductId()));
+            items.add(item);
+        }
+        return items;
+    }
+
     private OrderItemResponse mapToOrderItemResponse(OrderItem item) {
         OrderItemResponse response = new OrderItemResponse();
         response.setIdItems(item.getIdItems());
@@ -245,9 +286,14 @@ public class OrderService {
     }
 
     private void restoreStock(Order order) {
-        List<OrderItem> items = orderItemRepository.findByOrderId(order.getIdOrder());
-        for (OrderItem item : items) {
-            inventoryService.addStockByProductId(item.getProductId(), item.getQtyItems());
+        // Itens de flash sale ainda não baixados do inventário: baixa antes de repor
+        flashSaleStock.applyPending(order.getIdOrder());
+        // Com reserva, só volta o que a varredura ainda não devolveu
+        if (stockReservationService.releaseOrder(order.getIdOrder())) {
+            return;
         }
+        Map<Integer, Integer> quantities = orderItemRepository.findByOrderId(order.getIdOrder()).stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQtyItems, Integer::sum));
+        inventoryService.restockOrder(order.getIdOrder(), quantities);
     }
 }
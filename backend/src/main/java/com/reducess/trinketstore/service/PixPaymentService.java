@@ -56,6 +56,9 @@ public class PixPaymentService {
     @Value("${pix.polling.timeout-seconds:300}")
     private long pollingTimeoutSeconds;
 
+    @Value("${pix.reservation.ttl:PT15M}")
+    private Duration reservationTtl;
+
     private final OrderService orderService;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
@@ -77,6 +80,8 @@ public class PixPaymentService {
         NameParts payerName = splitName(user.getNomeUser());
 
         inventoryService.verifyStockAvailability(request.getItems());
+        // O QR Code expira junto com a reserva de estoque do pedido
+        OffsetDateTime reservationExpiresAt = OffsetDateTime.now().plus(reservationTtl);
         MercadoPagoPaymentResponse paymentResponse = mercadoPagoClient.createPixPayment(
                 amount,
                 request.getDescription(),
@@ -85,7 +90,8 @@ public class PixPaymentService {
                 payerName.firstName(),
                 payerName.lastName(),
                 DEFAULT_DOCUMENT_TYPE,
-                DEFAULT_DOCUMENT_NUMBER
+                DEFAULT_DOCUMENT_NUMBER,
+                reservationExpiresAt
         );
         String paymentId = String.valueOf(paymentResponse.getId());
         log.info("[pix] Pagamento {} criado no Mercado Pago. Iniciando polling a cada {}s.", paymentId, pollingIntervalSeconds);
@@ -99,7 +105,8 @@ public class PixPaymentService {
         orderRequest.setPaymentIntent(paymentId);
         orderRequest.setPickupQrToken(extractQrCode(paymentResponse));
         orderRequest.setPixQrCodeBase64(extractQrCodeBase64(paymentResponse));
-        orderRequest.setPixExpiresAt(parseExpiration(paymentResponse.getDateOfExpiration()));
+        OffsetDateTime pixExpiresAt = parseExpiration(paymentResponse.getDateOfExpiration());
+        orderRequest.setPixExpiresAt(pixExpiresAt != null ? pixExpiresAt : reservationExpiresAt);
         orderRequest.setItems(request.getItems());
 
         OrderResponse orderResponse = orderService.createOrder(orderRequest);
@@ -113,7 +120,7 @@ public class PixPaymentService {
                 orderResponse.getCheckoutId()
         );
 
-        startStatusPolling(paymentId);
+        startStatusPolling(paymentId, orderResponse.getPixExpiresAt());
 
         return new PixCheckoutResponse(orderResponse, paymentDetails);
     }
@@ -143,16 +150,26 @@ public class PixPaymentService {
         return new PixCheckoutResponse(orderResponse, paymentDetails);
     }
 
-    private void startStatusPolling(String paymentId) {
-        activePollers.computeIfAbsent(paymentId, id -> scheduleNextPoll(id, Instant.now()));
+    /**
+     * O polling vai até o timeout configurado ou, se for mais tarde, até o PIX expirar:
+     * a varredura de reservas cancela o pedido pendente depois disso, então um pagamento
+     * aprovado antes da expiração precisa ser visto antes.
+     */
+    private void startStatusPolling(String paymentId, OffsetDateTime pixExpiresAt) {
+        Instant deadline = Instant.now().plusSeconds(pollingTimeoutSeconds);
+        if (pixExpiresAt != null && pixExpiresAt.toInstant().isAfter(deadline)) {
+            deadline = pixExpiresAt.toInstant();
+        }
+        Instant pollingDeadline = deadline;
+        activePollers.computeIfAbsent(paymentId, id -> scheduleNextPoll(id, pollingDeadline));
     }
 
-    private ScheduledFuture<?> scheduleNextPoll(String paymentId, Instant startedAt) {
-        return pixScheduler.schedule(() -> pollPaymentStatus(paymentId, startedAt),
+    private ScheduledFuture<?> scheduleNextPoll(String paymentId, Instant deadline) {
+        return pixScheduler.schedule(() -> pollPaymentStatus(paymentId, deadline),
                 pollingIntervalSeconds, TimeUnit.SECONDS);
     }
 
-    private void pollPaymentStatus(String paymentId, Instant startedAt) {
+    private void pollPaymentStatus(String paymentId, Instant deadline) {
         boolean continuePolling = true;
         try {
             MercadoPagoPaymentResponse paymentResponse = mercadoPagoClient.getPayment(paymentId);
@@ -168,7 +185,7 @@ public class PixPaymentService {
                 continuePolling = false;
             }
 
-            if (timedOut(startedAt)) {
+            if (timedOut(deadline)) {
                 log.warn("[pix] Polling encerrado por timeout para pagamento {}", paymentId);
                 continuePolling = false;
             }
@@ -177,14 +194,14 @@ public class PixPaymentService {
         }
 
         if (continuePolling) {
-            activePollers.put(paymentId, scheduleNextPoll(paymentId, startedAt));
+            activePollers.put(paymentId, scheduleNextPoll(paymentId, deadline));
         } else {
             stopPolling(paymentId);
         }
     }
 
-    private boolean timedOut(Instant startedAt) {
-        return Duration.between(startedAt, Instant.now()).getSeconds() >= pollingTimeoutSeconds;
+    private boolean timedOut(Instant deadline) {
+        return !Instant.now().isBefore(deadline);
     }
 
     private void stopPolling(String paymentId) {
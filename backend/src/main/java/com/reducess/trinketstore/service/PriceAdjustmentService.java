@@ -0,0 +1,125 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.BulkPriceAdjustmentRequest;
+import com.reducess.trinketstore.dto.BulkPriceAdjustmentResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Reajuste de preços em massa por categoria e/ou lista de produtos. Todo o reajuste é um
+ * único comando SQL com CTEs de escrita: seleciona os preços vigentes alvo, retira os
+ * antigos e insere os novos, sem carregar nenhuma entidade.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceAdjustmentService {
+
+    private static final String ADJUST =
+            "WITH matched AS (" +
+            "SELECT pr.id_price, pr.product_id, pr.amount_price, pr.currency_price, " +
+            "(ROUND(pr.amount_price * (1 + ? / 100.0)) + ?)::INTEGER AS new_amount " +
+            "FROM prices pr JOIN products p ON p.id_product = pr.product_id " +
+            "WHERE pr.vigente_price = TRUE AND (CAST(? AS TEXT) IS NULL OR p.categoria_product = ?) " +
+            "AND (CAST(? AS INTEGER[]) IS NULL OR pr.product_id = ANY (?))), " +
+            "targets AS (SELECT * FROM matched WHERE new_amount > 0 AND new_amount <> amount_price), " +
+            "retired AS (" +
+            "UPDATE prices p SET vigente_price = p.vigente_price AND NOT ?, " +
+            "valid_to = CASE WHEN ? THEN GREATEST(p.valid_from, ?) ELSE p.valid_to END " +
+            "FROM targets t WHERE p.id_price = t.id_price AND (? OR ?) " +
+            "RETURNING p.id_price), " +
+            "inserted AS (" +
+            "INSERT INTO prices (product_id, amount_price, currency_price, vigente_price, valid_from, valid_to) " +
+            "SELECT product_id, new_amount, currency_price, ?, ?, ? FROM targets " +
+            "RETURNING product_id) " +
+            "SELECT (SELECT COUNT(*) FROM matched), (SELECT COUNT(*) FROM retired), " +
+            "ARRAY(SELECT product_id FROM inserted)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+
+    /**
+     * Aplica o percentual e/ou o valor absoluto (em centavos) sobre o preço vigente de cada
+     * produto alvo. Sem {@code validTo} o reajuste é definitivo e fecha a janela do preço
+     * anterior; com {@code validTo} é temporário e o preço anterior volta a valer ao fim da
+     * janela. Com {@code validFrom} futuro, a {@link PriceSchedule} ativa os novos preços;
+     * retroativo, o reajuste é recusado.
+     * Produtos cujo resultado não muda ou não é positivo são ignorados.
+     */
+    @Transactional
+    public BulkPriceAdjustmentResponse adjustPrices(BulkPriceAdjustmentRequest request) {
+        boolean hasCategory = request.getCategoria() != null && !request.getCategoria().isBlank();
+        boolean hasProducts = request.getProductIds() != null && !request.getProductIds().isEmpty();
+        if (!hasCategory && !hasProducts) {
+            throw new RuntimeException("Informe uma categoria ou uma lista de produtos");
+        }
+        if (request.getPercentChange() == null && request.getAmountChange() == null) {
+            throw new RuntimeException("Informe o percentual ou o valor do reajuste");
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        if (request.getValidFrom() != null && request.getValidFrom().isBefore(now)) {
+            throw new RuntimeException("O início da vigência não pode estar no passado");
+        }
+        OffsetDateTime validFrom = request.getValidFrom() != null ? request.getValidFrom() : now;
+        OffsetDateTime validTo = request.getValidTo();
+        if (validTo != null && !validTo.isAfter(validFrom)) {
+            throw new RuntimeException("O fim da vigência deve ser posterior ao início");
+        }
+        boolean appliedNow = !validFrom.isAfter(now);
+        boolean permanent = validTo == null;
+        BigDecimal percent = request.getPercentChange() != null ? request.getPercentChange() : BigDecimal.ZERO;
+        int amount = request.getAmountChange() != null ? request.getAmountChange() : 0;
+        String category = hasCategory ? request.getCategoria() : null;
+        Integer[] productIds = hasProducts ? request.getProductIds().toArray(Integer[]::new) : null;
+
+        Result result = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADJUST);
+            Array ids = productIds != null ? connection.createArrayOf("integer", productIds) : null;
+            statement.setBigDecimal(1, percent);
+            statement.setInt(2, amount);
+            statement.setString(3, category);
+            statement.setString(4, category);
+            statement.setArray(5, ids);
+            statement.setArray(6, ids);
+            statement.setBoolean(7, appliedNow);
+            statement.setBoolean(8, permanent);
+            statement.setObject(9, validFrom);
+            statement.setBoolean(10, appliedNow);
+            statement.setBoolean(11, permanent);
+            statement.setBoolean(12, appliedNow);
+            statement.setObject(13, validFrom);
+            statement.setObject(14, validTo);
+            return statement;
+        }, resultSet -> {
+            resultSet.next();
+            return new Result(resultSet.getLong(1), resultSet.getLong(2),
+                    List.of((Integer[]) resultSet.getArray(3).getArray()));
+        });
+
+        catalogCache.markPricesChanged(result.repriced());
+        log.info("[prices] Reajuste em massa: {} produtos encontrados, {} reajustados",
+                result.matched(), result.repriced().size());
+        return new BulkPriceAdjustmentResponse(
+                result.matched(),
+                result.repriced().size(),
+                result.matched() - result.repriced().size(),
+                result.retired(),
+                appliedNow,
+                validFrom,
+                validTo
+        );
+    }
+
+    private record Result(long matched, long retired, List<Integer> repriced) {
+    }
+}
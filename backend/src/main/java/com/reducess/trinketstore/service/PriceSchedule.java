@@ -0,0 +1,182 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.entity.Price;
+import com.reducess.trinketstore.repository.PriceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Agenda de preços com vigência ({@code valid_from}/{@code valid_to}). Mantém em memória
+ * uma {@link PriceTimeline} por produto, recarregada a partir dos {@link CatalogChangedEvent},
+ * e dorme até a próxima transição de preço do catálogo. Ao acordar, um único UPDATE
+ * alinha {@code vigente_price} com o vencedor de cada produto e a fotografia do catálogo
+ * é atualizada só para os produtos que mudaram.
+ */
+@Slf4j
+@Component
+public class PriceSchedule {
+
+    private static final String RECONCILE =
+            "WITH winners AS (" +
+            "SELECT DISTINCT ON (product_id) id_price FROM prices " +
+            "WHERE valid_from <= ? AND (valid_to IS NULL OR valid_to > ?) " +
+            "ORDER BY product_id, valid_from DESC, id_price DESC) " +
+            "UPDATE prices p SET vigente_price = NOT COALESCE(p.vigente_price, FALSE) " +
+            "WHERE COALESCE(p.vigente_price, FALSE) <> EXISTS (SELECT 1 FROM winners w WHERE w.id_price = p.id_price) " +
+            "RETURNING p.product_id";
+    private static final Duration OUT_OF_SYNC_DELAY = Duration.ofSeconds(1);
+
+    private final PriceRepository priceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+    private final boolean enabled;
+    private final Duration maxDelay;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private volatile Map<Integer, PriceTimeline> timelines = Map.of();
+    private ScheduledFuture<?> pending;
+    private Instant pendingAt;
+
+    public PriceSchedule(PriceRepository priceRepository,
+                         JdbcTemplate jdbcTemplate,
+                         CatalogCache catalogCache,
+                         @Value("${catalog.price-schedule.enabled:true}") boolean enabled,
+                         @Value("${catalog.price-schedule.max-delay:PT5M}") Duration maxDelay) {
+        this.priceRepository = priceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogCache = catalogCache;
+        this.enabled = enabled;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Preço vencedor do produto no instante informado, sem ida ao banco.
+     */
+    Optional<PriceTimeline.ScheduledPrice> priceAt(Integer productId, Instant instant) {
+        PriceTimeline timeline = timelines.get(productId);
+        return timeline != null ? Optional.ofNullable(timeline.at(instant)) : Optional.empty();
+    }
+
+    boolean isVigente(Integer productId, Integer idPrice) {
+        PriceTimeline timeline = timelines.get(productId);
+        return timeline != null && timeline.isVigente(idPrice);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.pricesChanged()) {
+            // Baixas de estoque do checkout: nenhuma linha do tempo mudou
+            return;
+        }
+        if (event.productIds().isEmpty()) {
+            reloadAll();
+        } else {
+            reload(event.productIds());
+        }
+        scheduleNext();
+    }
+
+    private synchronized void reloadAll() {
+        timelines = Map.copyOf(build(priceRepository.findAll()));
+    }
+
+    private synchronized void reload(Collection<Integer> productIds) {
+        Map<Integer, PriceTimeline> merged = new HashMap<>(timelines);
+        productIds.forEach(merged::remove);
+        merged.putAll(build(priceRepository.findByProductIdIn(productIds)));
+        timelines = Map.copyOf(merged);
+    }
+
+    private Map<Integer, PriceTimeline> build(List<Price> prices) {
+        return prices.stream()
+                .collect(Collectors.groupingBy(Price::getProductId)).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> PriceTimeline.of(entry.getValue())));
+    }
+
+    /**
+     * Agenda a próxima conciliação para a transição mais próxima, logo em seguida se algum
+     * produto já estiver fora de sincronia, ou no máximo após {@code max-delay}.
+     */
+    private synchronized void scheduleNext() {
+        if (!enabled || scheduler.isShutdown()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant due = now.plus(maxDelay);
+        for (PriceTimeline timeline : timelines.values()) {
+            if (!timeline.inSync(now)) {
+                due = now.plus(OUT_OF_SYNC_DELAY);
+                break;
+            }
+            Instant next = timeline.nextTransitionAfter(now);
+            if (next != null && next.isBefore(due)) {
+                due = next;
+            }
+        }
+        if (pending != null && !pending.isDone()) {
+            if (!pendingAt.isAfter(due)) {
+                return;
+            }
+            pending.cancel(false);
+        }
+        pendingAt = due;
+        pending = scheduler.schedule(this::reconcile, Duration.between(now, due).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reconcile() {
+        try {
+            Instant now = Instant.now();
+            Set<Integer> outOfSync = timelines.entrySet().stream()
+                    .filter(entry -> !entry.getValue().inSync(now))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toCollection(HashSet::new));
+
+            OffsetDateTime at = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+            Set<Integer> changed = new HashSet<>(jdbcTemplate.queryForList(RECONCILE, Integer.class, at, at));
+            if (!changed.isEmpty()) {
+                log.info("[prices] Vigência atualizada para {} produtos", changed.size());
+                // A troca de fotografia publica o evento que recarrega essas linhas do tempo
+                catalogCache.markPricesChanged(changed);
+            }
+
+            // Índice desatualizado (ex.: escrita feita fora da aplicação): relê do banco
+            outOfSync.removeAll(changed);
+            if (!outOfSync.isEmpty()) {
+                reload(outOfSync);
+            }
+        } catch (Exception e) {
+            log.error("[prices] Erro ao aplicar a agenda de preços", e);
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+            scheduleNext();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownScheduler() {
+        scheduler.shutdownNow();
+    }
+}
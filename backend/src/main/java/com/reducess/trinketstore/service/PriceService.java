@@ -1,5 +1,6 @@
 package com.reducess.trinketstore.service;
 import com.reducess.trinketstore.dto.CreatePriceRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.PriceResponse;
 import com.reducess.trinketstore.dto.UpdatePriceRequest;
 import com.reducess.trinketstore.entity.Price;
@@ -7,8 +8,16 @@ import com.reducess.trinketstore.entity.Product;
 import com.reducess.trinketstore.repository.PriceRepository;
 import com.reducess.trinketstore.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 @Service
@@ -16,19 +25,36 @@ import java.util.stream.Collectors;
 public class PriceService {
     private final PriceRepository priceRepository;
     private final ProductRepository productRepository;
+    private final CatalogCache catalogCache;
+    private final PriceSchedule priceSchedule;
+    @Value("${catalog.pagination.default-page-size:24}")
+    private int defaultPageSize;
     @Transactional
     public PriceResponse createPrice(CreatePriceRequest request) {
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+        OffsetDateTime now = OffsetDateTime.now();
         Price price = new Price();
         price.setProductId(request.getProductId());
         price.setAmountPrice(request.getAmountPrice());
         price.setCurrencyPrice(request.getCurrencyPrice());
-        price.setVigentePrice(request.getVigentePrice());
+        if (request.getValidFrom() != null) {
+            // Preço agendado: a PriceSchedule ativa e retira conforme a janela
+            validateWindow(request.getValidFrom(), request.getValidTo());
+            price.setValidFrom(request.getValidFrom());
+            price.setValidTo(request.getValidTo());
+            price.setVigentePrice(false);
+        } else {
+            validateWindow(now, request.getValidTo());
+            price.setValidFrom(now);
+            price.setValidTo(Boolean.TRUE.equals(request.getVigentePrice()) ? request.getValidTo() : now);
+            price.setVigentePrice(request.getVigentePrice());
+        }
         Price savedPrice = priceRepository.save(price);
         if (Boolean.TRUE.equals(savedPrice.getVigentePrice())) {
-            deactivateOtherPrices(savedPrice.getProductId(), savedPrice.getIdPrice());
+            deactivateOtherPrices(savedPrice.getProductId(), savedPrice.getIdPrice(), now);
         }
+        catalogCache.markPricesChanged(savedPrice.getProductId());
         return mapToPriceResponse(savedPrice, product);
     }
     @Transactional(readOnly = true)
@@ -38,14 +64,20 @@ public class PriceService {
         Product product = productRepository.findById(price.getProductId()).orElse(null);
         return mapToPriceResponse(price, product);
     }
+    /**
+     * Listagem de preços via projeção com join em {@code products}: custo constante de
+     * uma consulta por página, independente de quantos preços existam.
+     *
+     * @param vigente    filtra pelo status, ou {@code null} para todos
+     * @param productIds restringe aos produtos informados, ou {@code null}/vazio para todos
+     */
     @Transactional(readOnly = true)
-    public List<PriceResponse> getAllPrices() {
-        return priceRepository.findAll().stream()
-                .map(price -> {
-                    Product product = productRepository.findById(price.getProductId()).orElse(null);
-                    return mapToPriceResponse(price, product);
-                })
-                .collect(Collectors.toList());
+    public Slice<PriceResponse> getPrices(Boolean vigente, Collection<Integer> productIds, OffsetPageRequest page) {
+        Pageable pageable = page.toPageable(Sort.by("idPrice"), defaultPageSize);
+        if (productIds == null || productIds.isEmpty()) {
+            return priceRepository.findResponses(vigente, pageable);
+        }
+        return priceRepository.findResponsesByProductIdIn(vigente, productIds, pageable);
     }
     @Transactional(readOnly = true)
     public List<PriceResponse> getPricesByProductId(Integer productId) {
@@ -56,15 +88,6 @@ public class PriceService {
                 .collect(Collectors.toList());
     }
     @Transactional(readOnly = true)
-    public List<PriceResponse> getActivePrices() {
-        return priceRepository.findByVigentePrice(true).stream()
-                .map(price -> {
-                    Product product = productRepository.findById(price.getProductId()).orElse(null);
-                    return mapToPriceResponse(price, product);
-                })
-                .collect(Collectors.toList());
-    }
-    @Transactional(readOnly = true)
     public PriceResponse getCurrentPriceByProductId(Integer productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
@@ -72,6 +95,28 @@ public class PriceService {
                 .orElseThrow(() -> new RuntimeException("Preço vigente não encontrado para este produto"));
         return mapToPriceResponse(price, product);
     }
+    /**
+     * Preço que vale para o produto no instante informado (ou agora), consultado na linha
+     * do tempo em memória da {@link PriceSchedule}, sem ida ao banco.
+     */
+    public PriceResponse getPriceAt(Integer productId, OffsetDateTime at) {
+        Instant instant = at != null ? at.toInstant() : Instant.now();
+        PriceTimeline.ScheduledPrice price = priceSchedule.priceAt(productId, instant)
+                .orElseThrow(() -> new RuntimeException("Nenhum preço vigente para este produto na data informada"));
+        String productName = catalogCache.snapshot().findById(productId)
+                .map(item -> item.product().getNomeProduct())
+                .orElse(null);
+        return new PriceResponse(
+                price.idPrice(),
+                price.productId(),
+                price.amountPrice(),
+                price.currencyPrice(),
+                priceSchedule.isVigente(productId, price.idPrice()),
+                productName,
+                OffsetDateTime.ofInstant(price.validFrom(), ZoneOffset.UTC),
+                price.validTo() != null ? OffsetDateTime.ofInstant(price.validTo(), ZoneOffset.UTC) : null
+        );
+    }
     @Transactional
     public PriceResponse updatePrice(Integer id, UpdatePriceRequest request) {
         Price price = priceRepository.findById(id)
@@ -82,13 +127,29 @@ public class PriceService {
         if (request.getCurrencyPrice() != null && !request.getCurrencyPrice().isBlank()) {
             price.setCurrencyPrice(request.getCurrencyPrice());
         }
+        if (request.getValidFrom() != null) {
+            price.setValidFrom(request.getValidFrom());
+        }
+        if (request.getValidTo() != null) {
+            price.setValidTo(request.getValidTo());
+        }
+        if (request.getValidFrom() != null || request.getValidTo() != null) {
+            validateWindow(price.getValidFrom(), price.getValidTo());
+        }
+        OffsetDateTime now = OffsetDateTime.now();
         if (request.getVigentePrice() != null) {
+            if (request.getVigentePrice()) {
+                openWindow(price, now);
+            } else {
+                closeWindow(price, now);
+            }
             price.setVigentePrice(request.getVigentePrice());
         }
         Price updatedPrice = priceRepository.save(price);
         if (Boolean.TRUE.equals(updatedPrice.getVigentePrice())) {
-            deactivateOtherPrices(updatedPrice.getProductId(), updatedPrice.getIdPrice());
+            deactivateOtherPrices(updatedPrice.getProductId(), updatedPrice.getIdPrice(), now);
         }
+        catalogCache.markPricesChanged(updatedPrice.getProductId());
         Product product = productRepository.findById(updatedPrice.getProductId()).orElse(null);
         return mapToPriceResponse(updatedPrice, product);
     }
@@ -97,13 +158,16 @@ public class PriceService {
         Price price = priceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Preço não encontrado"));
         priceRepository.delete(price);
+        catalogCache.markPricesChanged(price.getProductId());
     }
     @Transactional
     public PriceResponse deactivatePrice(Integer id) {
         Price price = priceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Preço não encontrado"));
+        closeWindow(price, OffsetDateTime.now());
         price.setVigentePrice(false);
         Price updatedPrice = priceRepository.save(price);
+        catalogCache.markPricesChanged(updatedPrice.getProductId());
         Product product = productRepository.findById(updatedPrice.getProductId()).orElse(null);
         return mapToPriceResponse(updatedPrice, product);
     }
@@ -111,35 +175,56 @@ public class PriceService {
     public PriceResponse activatePrice(Integer id) {
         Price price = priceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Preço não encontrado"));
+        OffsetDateTime now = OffsetDateTime.now();
+        openWindow(price, now);
         price.setVigentePrice(true);
         Price updatedPrice = priceRepository.save(price);
-        deactivateOtherPrices(updatedPrice.getProductId(), updatedPrice.getIdPrice());
+        deactivateOtherPrices(updatedPrice.getProductId(), updatedPrice.getIdPrice(), now);
+        catalogCache.markPricesChanged(updatedPrice.getProductId());
         Product product = productRepository.findById(updatedPrice.getProductId()).orElse(null);
         return mapToPriceResponse(updatedPrice, product);
     }
-    private PriceResponse mapToPriceResponse(Price price, Product product) {
+    PriceResponse mapToPriceResponse(Price price, Product product) {
         return new PriceResponse(
                 price.getIdPrice(),
                 price.getProductId(),
                 price.getAmountPrice(),
                 price.getCurrencyPrice(),
                 price.getVigentePrice(),
-                product != null ? product.getNomeProduct() : null
+                product != null ? product.getNomeProduct() : null,
+                price.getValidFrom(),
+                price.getValidTo()
         );
     }
 
-    private void deactivateOtherPrices(Integer productId, Integer exceptionPriceId) {
-        List<Price> activePrices = priceRepository.findByProductIdAndVigentePrice(productId, true);
-        boolean updated = false;
-        for (Price activePrice : activePrices) {
-            if (exceptionPriceId != null && activePrice.getIdPrice().equals(exceptionPriceId)) {
-                continue;
-            }
-            activePrice.setVigentePrice(false);
-            updated = true;
+    private void deactivateOtherPrices(Integer productId, Integer exceptionPriceId, OffsetDateTime now) {
+        priceRepository.retireOtherPrices(productId, exceptionPriceId, now);
+    }
+    /**
+     * Ativação manual: a janela passa a cobrir {@code now} para que a agenda não desfaça a ativação.
+     */
+    private void openWindow(Price price, OffsetDateTime now) {
+        if (price.getValidFrom().isAfter(now)) {
+            price.setValidFrom(now);
+        }
+        if (price.getValidTo() != null && !price.getValidTo().isAfter(now)) {
+            price.setValidTo(null);
         }
-        if (updated) {
-            priceRepository.saveAll(activePrices);
+    }
+    /**
+     * Desativação manual: fecha a janela em {@code now}, ou a esvazia se o preço ainda
+     * estava agendado, para que a agenda não o reative.
+     */
+    private void closeWindow(Price price, OffsetDateTime now) {
+        if (price.getValidFrom().isAfter(now)) {
+            price.setValidTo(price.getValidFrom());
+        } else if (price.getValidTo() == null || price.getValidTo().isAfter(now)) {
+            price.setValidTo(now);
+        }
+    }
+    private void validateWindow(OffsetDateTime validFrom, OffsetDateTime validTo) {
+        if (validTo != null && !validTo.isAfter(validFrom)) {
+            throw new RuntimeException("O fim da vigência deve ser posterior ao início");
         }
     }
 }
@@ -0,0 +1,134 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.entity.Price;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Linha do tempo imutável dos preços de um produto, achatada em segmentos contíguos e
+ * sem sobreposição. Cada segmento guarda o preço que vence naquele intervalo: entre
+ * janelas sobrepostas vence a de início mais recente, então uma promoção cobre o preço
+ * base e, ao terminar, ele volta a valer. A consulta por instante é uma busca binária.
+ */
+final class PriceTimeline {
+
+    private static final Comparator<ScheduledPrice> PRECEDENCE = Comparator
+            .comparing(ScheduledPrice::validFrom)
+            .thenComparing(ScheduledPrice::idPrice)
+            .reversed();
+
+    private final Instant[] starts;
+    private final ScheduledPrice[] winners;
+    private final List<Integer> vigenteIds;
+
+    private PriceTimeline(Instant[] starts, ScheduledPrice[] winners, List<Integer> vigenteIds) {
+        this.starts = starts;
+        this.winners = winners;
+        this.vigenteIds = vigenteIds;
+    }
+
+    static PriceTimeline of(Collection<Price> prices) {
+        List<ScheduledPrice> windows = new ArrayList<>(prices.size());
+        List<Integer> vigenteIds = new ArrayList<>(1);
+        TreeSet<Instant> boundaries = new TreeSet<>();
+        for (Price price : prices) {
+            if (Boolean.TRUE.equals(price.getVigentePrice())) {
+                vigenteIds.add(price.getIdPrice());
+            }
+            ScheduledPrice window = ScheduledPrice.of(price);
+            if (window.validTo() != null && !window.validTo().isAfter(window.validFrom())) {
+                // Janela vazia: preço histórico, nunca vence
+                continue;
+            }
+            windows.add(window);
+            boundaries.add(window.validFrom());
+            if (window.validTo() != null) {
+                boundaries.add(window.validTo());
+            }
+        }
+        windows.sort(Comparator.comparing(ScheduledPrice::validFrom));
+
+        List<Instant> starts = new ArrayList<>(boundaries.size());
+        List<ScheduledPrice> winners = new ArrayList<>(boundaries.size());
+        PriorityQueue<ScheduledPrice> covering = new PriorityQueue<>(PRECEDENCE);
+        int next = 0;
+        for (Instant boundary : boundaries) {
+            while (next < windows.size() && !windows.get(next).validFrom().isAfter(boundary)) {
+                covering.add(windows.get(next++));
+            }
+            while (!covering.isEmpty() && !covering.peek().covers(boundary)) {
+                covering.poll();
+            }
+            ScheduledPrice winner = covering.peek();
+            if (!winners.isEmpty() && winners.get(winners.size() - 1) == winner) {
+                continue;
+            }
+            starts.add(boundary);
+            winners.add(winner);
+        }
+        return new PriceTimeline(starts.toArray(Instant[]::new), winners.toArray(ScheduledPrice[]::new),
+                List.copyOf(vigenteIds));
+    }
+
+    /**
+     * Preço que vale no instante informado, ou {@code null} se nenhuma janela o cobre.
+     */
+    ScheduledPrice at(Instant instant) {
+        int index = Arrays.binarySearch(starts, instant);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 ? winners[index] : null;
+    }
+
+    /**
+     * Próximo instante estritamente posterior ao informado em que o preço vencedor muda.
+     */
+    Instant nextTransitionAfter(Instant instant) {
+        int index = Arrays.binarySearch(starts, instant);
+        index = index < 0 ? -index - 1 : index + 1;
+        return index < starts.length ? starts[index] : null;
+    }
+
+    /**
+     * Indica se o {@code vigente_price} gravado no banco já corresponde ao vencedor no instante.
+     */
+    boolean inSync(Instant instant) {
+        ScheduledPrice winner = at(instant);
+        if (winner == null) {
+            return vigenteIds.isEmpty();
+        }
+        return vigenteIds.size() == 1 && Objects.equals(vigenteIds.get(0), winner.idPrice());
+    }
+
+    boolean isVigente(Integer idPrice) {
+        return vigenteIds.contains(idPrice);
+    }
+
+    record ScheduledPrice(Integer idPrice, Integer productId, Integer amountPrice, String currencyPrice,
+                          Instant validFrom, Instant validTo) {
+
+        static ScheduledPrice of(Price price) {
+            return new ScheduledPrice(
+                    price.getIdPrice(),
+                    price.getProductId(),
+                    price.getAmountPrice(),
+                    price.getCurrencyPrice(),
+                    price.getValidFrom().toInstant(),
+                    price.getValidTo() != null ? price.getValidTo().toInstant() : null
+            );
+        }
+
+        boolean covers(Instant instant) {
+            return !validFrom.isAfter(instant) && (validTo == null || validTo.isAfter(instant));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.reducess.trinketstore.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posição de continuação da paginação por keyset de produtos. Serializada como token
+ * opaco (base64url) contendo a ordenação usada, o {@code created_at} e o {@code id_product}
+ * do último item devolvido.
+ */
+record ProductCursor(String sort, OffsetDateTime createdAt, Integer idProduct) {
+
+    String encode() {
+        String raw = sort + "|" + (createdAt != null ? createdAt.toInstant() : "") + "|" + idProduct;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                throw new IllegalArgumentException(raw);
+            }
+            OffsetDateTime createdAt = parts[1].isEmpty()
+                    ? null
+                    : Instant.parse(parts[1]).atOffset(ZoneOffset.UTC);
+            return new ProductCursor(parts[0], createdAt, Integer.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.reducess.trinketstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reducess.trinketstore.dto.ImportResultResponse;
+import com.reducess.trinketstore.dto.ProductImportRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa do catálogo (produtos, preço vigente e estoque) a partir de CSV
+ * ou NDJSON. O arquivo é lido em fluxo e gravado em lotes JDBC, cada lote na sua
+ * própria transação, então a memória fica limitada ao tamanho do lote.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final String UPSERT_PRODUCT =
+            "INSERT INTO products (nome_product, slug_product, descricao_product, imagemurl_product, " +
+            "categoria_product, ativo, created_at) VALUES (?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (slug_product) DO UPDATE SET nome_product = EXCLUDED.nome_product, " +
+            "descricao_product = EXCLUDED.descricao_product, imagemurl_product = EXCLUDED.imagemurl_product, " +
+            "categoria_product = EXCLUDED.categoria_product, ativo = EXCLUDED.ativo";
+    private static final String SELECT_PRODUCT_IDS =
+            "SELECT slug_product, id_product FROM products WHERE slug_product = ANY (?)";
+    private static final String RETIRE_OTHER_PRICES =
+            "UPDATE prices SET vigente_price = FALSE, valid_to = GREATEST(valid_from, ?) " +
+            "WHERE product_id = ? AND vigente_price = TRUE AND (amount_price <> ? OR currency_price <> ?)";
+    private static final String INSERT_PRICE_IF_CHANGED =
+            "INSERT INTO prices (product_id, amount_price, currency_price, vigente_price, valid_from) " +
+            "SELECT ?, ?, ?, TRUE, ? WHERE NOT EXISTS " +
+            "(SELECT 1 FROM prices WHERE product_id = ? AND vigente_price = TRUE)";
+    /**
+     * Grava o saldo absoluto do arquivo: bloqueia a linha, dobra a cauda do razão de estoque
+     * e registra a diferença como movimentação de importação. Produtos em flash sale
+     * mantêm o saldo, que está nos contadores em memória.
+     */
+    private static final String UPSERT_INVENTORY =
+            "WITH locked AS (" +
+            "SELECT product_id, qty_on_hand FROM inventory WHERE product_id = ? FOR UPDATE), " +
+            "folded AS (" +
+            "UPDATE inventory_movements m SET compacted = TRUE FROM locked l " +
+            "WHERE m.product_id = l.product_id AND NOT m.compacted " +
+            "AND NOT EXISTS (SELECT 1 FROM flash_sale_products f WHERE f.product_id = l.product_id) " +
+            "RETURNING m.delta_qty), " +
+            "previous AS (" +
+            "SELECT COALESCE((SELECT qty_on_hand FROM locked), 0) + " +
+            "COALESCE((SELECT SUM(delta_qty) FROM folded), 0)::INTEGER AS qty), " +
+            "upserted AS (" +
+            "INSERT INTO inventory (product_id, qty_on_hand) VALUES (?, ?) " +
+            "ON CONFLICT (product_id) DO UPDATE SET qty_on_hand = EXCLUDED.qty_on_hand " +
+            "WHERE NOT EXISTS (SELECT 1 FROM flash_sale_products f WHERE f.product_id = EXCLUDED.product_id) " +
+            "RETURNING product_id, qty_on_hand) " +
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, compacted) " +
+            "SELECT u.product_id, u.qty_on_hand - p.qty, 'import', TRUE FROM upserted u, previous p " +
+            "WHERE u.qty_on_hand <> p.qty";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CatalogCache catalogCache;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                CatalogCache catalogCache,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.max-reported-errors:500}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.catalogCache = catalogCache;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ImportResultResponse importCatalog(InputStream input, String contentType) throws IOException {
+        Progress progress = new Progress(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        try {
+            if (contentType != null && contentType.startsWith(NDJSON)) {
+                readNdjson(reader, progress);
+            } else {
+                readCsv(reader, progress);
+            }
+            flush(progress);
+        } finally {
+            if (progress.importedRows > 0) {
+                catalogCache.rebuild();
+            }
+        }
+
+        log.info("[import] {} linhas processadas, {} importadas, {} substituídas, {} com erro",
+                progress.processedRows, progress.importedRows, progress.supersededRows, progress.failedRows);
+        return new ImportResultResponse(progress.processedRows, progress.importedRows, progress.supersededRows,
+                progress.failedRows, progress.errors, progress.errorsTruncated);
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(new PendingRow(lineNumber, objectMapper.readValue(line, ProductImportRow.class)), progress);
+            } catch (IOException e) {
+                progress.processedRows++;
+                progress.fail(lineNumber, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("\uFEFF", ""), i);
+        }
+        if (!columns.containsKey("slugProduct")) {
+            throw new RuntimeException("Cabeçalho CSV deve conter a coluna slugProduct");
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            long lineNumber = csv.recordLine();
+            try {
+                accept(new PendingRow(lineNumber, toRow(fields, columns)), progress);
+            } catch (IllegalArgumentException e) {
+                progress.processedRows++;
+                progress.fail(lineNumber, field(fields, columns, "slugProduct"), e.getMessage());
+            }
+        }
+    }
+
+    private ProductImportRow toRow(List<String> fields, Map<String, Integer> columns) {
+        ProductImportRow row = new ProductImportRow();
+        row.setSlugProduct(field(fields, columns, "slugProduct"));
+        row.setNomeProduct(field(fields, columns, "nomeProduct"));
+        row.setDescricaoProduct(field(fields, columns, "descricaoProduct"));
+        row.setImagemurlProduct(field(fields, columns, "imagemurlProduct"));
+        row.setCategoriaProduct(field(fields, columns, "categoriaProduct"));
+        String ativo = field(fields, columns, "ativo");
+        row.setAtivo(ativo != null ? Boolean.valueOf(ativo) : null);
+        row.setAmountPrice(integer(field(fields, columns, "amountPrice"), "amountPrice"));
+        row.setCurrencyPrice(field(fields, columns, "currencyPrice"));
+        row.setQtyOnHand(integer(field(fields, columns, "qtyOnHand"), "qtyOnHand"));
+        return row;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer integer(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+    }
+
+    private void accept(PendingRow pending, Progress progress) {
+        progress.processedRows++;
+        ProductImportRow row = pending.row();
+        List<String> violations = validator.validate(row).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            progress.fail(pending.line(), row.getSlugProduct(), String.join("; ", violations));
+            return;
+        }
+        // Dentro do lote vale a última ocorrência do slug; a anterior nunca é gravada
+        PendingRow replaced = progress.batch.put(row.getSlugProduct(), pending);
+        if (replaced != null) {
+            progress.supersededRows++;
+        }
+        if (progress.batch.size() >= batchSize) {
+            flush(progress);
+        }
+    }
+
+    private void flush(Progress progress) {
+        if (progress.batch.isEmpty()) {
+            return;
+        }
+        List<PendingRow> rows = new ArrayList<>(progress.batch.values());
+        progress.batch.clear();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(rows));
+            progress.importedRows += rows.size();
+        } catch (DataAccessException e) {
+            // Lote rejeitado: regrava linha a linha para isolar as que falham
+            log.warn("[import] Lote de {} linhas falhou, reprocessando individualmente: {}", rows.size(),
+                    e.getMostSpecificCause().getMessage());
+            for (PendingRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(List.of(row)));
+                    progress.importedRows++;
+                } catch (DataAccessException rowError) {
+                    progress.fail(row.line(), row.row().getSlugProduct(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void write(List<PendingRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT, rows, rows.size(), (ps, pending) -> {
+            ProductImportRow row = pending.row();
+            ps.setString(1, row.getNomeProduct());
+            ps.setString(2, row.getSlugProduct());
+            ps.setString(3, row.getDescricaoProduct());
+            ps.setString(4, row.getImagemurlProduct());
+            ps.setString(5, row.getCategoriaProduct());
+            ps.setBoolean(6, row.getAtivo() == null || row.getAtivo());
+        });
+
+        Map<String, Integer> ids = productIds(rows);
+
+        List<PendingRow> priced = rows.stream()
+                .filter(pending -> pending.row().getAmountPrice() != null)
+                .collect(Collectors.toList());
+        if (!priced.isEmpty()) {
+            // O preço anterior fecha a janela no mesmo instante em que o novo abre a sua
+            OffsetDateTime now = OffsetDateTime.now();
+            jdbcTemplate.batchUpdate(RETIRE_OTHER_PRICES, priced, priced.size(), (ps, pending) -> {
+                ps.setObject(1, now);
+                ps.setInt(2, ids.get(pending.row().getSlugProduct()));
+                ps.setInt(3, pending.row().getAmountPrice());
+                ps.setString(4, currency(pending.row()));
+            });
+            jdbcTemplate.batchUpdate(INSERT_PRICE_IF_CHANGED, priced, priced.size(), (ps, pending) -> {
+                Integer productId = ids.get(pending.row().getSlugProduct());
+                ps.setInt(1, productId);
+                ps.setInt(2, pending.row().getAmountPrice());
+                ps.setString(3, currency(pending.row()));
+                ps.setObject(4, now);
+                ps.setInt(5, productId);
+            });
+        }
+
+        List<PendingRow> stocked = rows.stream()
+                .filter(pending -> pending.row().getQtyOnHand() != null)
+                .collect(Collectors.toList());
+        if (!stocked.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_INVENTORY, stocked, stocked.size(), (ps, pending) -> {
+                Integer productId = ids.get(pending.row().getSlugProduct());
+                ps.setInt(1, productId);
+                ps.setInt(2, productId);
+                ps.setInt(3, pending.row().getQtyOnHand());
+            });
+        }
+    }
+
+    private Map<String, Integer> productIds(List<PendingRow> rows) {
+        Object[] slugs = rows.stream().map(pending -> pending.row().getSlugProduct()).toArray();
+        Map<String, Integer> ids = new HashMap<>(rows.size() * 2);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_PRODUCT_IDS);
+            Array array = connection.createArrayOf("varchar", slugs);
+            statement.setArray(1, array);
+            return statement;
+        }, resultSet -> {
+            ids.put(resultSet.getString(1), resultSet.getInt(2));
+        });
+        return ids;
+    }
+
+    private static String currency(ProductImportRow row) {
+        return row.getCurrencyPrice() != null ? row.getCurrencyPrice() : "BRL";
+    }
+
+    private record PendingRow(long line, ProductImportRow row) {
+    }
+
+    private static final class Progress {
+
+        private final int maxReportedErrors;
+        private final Map<String, PendingRow> batch = new LinkedHashMap<>();
+        private final List<ImportResultResponse.RowError> errors = new ArrayList<>();
+        private long processedRows;
+        private long importedRows;
+        private long supersededRows;
+        private long failedRows;
+        private boolean errorsTruncated;
+
+        private Progress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void fail(long line, String slug, String message) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportResultResponse.RowError(line, slug, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.reducess.trinketstore.service;
 
+import com.reducess.trinketstore.dto.CategoryFacetResponse;
 import com.reducess.trinketstore.dto.CreateProductRequest;
+import com.reducess.trinketstore.dto.CursorPage;
+import com.reducess.trinketstore.dto.CursorPageRequest;
+import com.reducess.trinketstore.dto.OffsetPageRequest;
 import com.reducess.trinketstore.dto.ProductResponse;
 import com.reducess.trinketstore.dto.UpdateProductRequest;
 import com.reducess.trinketstore.entity.Product;
 import com.reducess.trinketstore.repository.OrderItemRepository;
 import com.reducess.trinketstore.repository.ProductRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +37,14 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final InventoryService inventoryService;
     private final OrderItemRepository orderItemRepository;
+    private final CatalogCache catalogCache;
+    private final CatalogFacets catalogFacets;
+
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int MAX_SEARCH_LENGTH = 100;
+
+    @Value("${catalog.pagination.default-page-size:24}")
+    private int defaultPageSize;
 
     @Transactional
     public ProductResponse createProduct(CreateProductRequest request) {
@@ -44,6 +69,7 @@ public class ProductService {
         }
 
         inventoryService.ensureInventoryRecord(savedProduct.getIdProduct(), initialStock);
+        catalogCache.markChanged(savedProduct.getIdProduct());
 
         return mapToProductResponse(savedProduct);
     }
@@ -55,11 +81,12 @@ public class ProductService {
         return mapToProductResponse(product);
     }
 
-    @Transactional(readOnly = true)
     public ProductResponse getProductBySlug(String slug) {
-        Product product = productRepository.findBySlugProduct(slug)
-                .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
-        return mapToProductResponse(product);
+        return catalogCache.snapshot().findBySlug(slug)
+                .map(CatalogItem::product)
+                .orElseGet(() -> productRepository.findBySlugProduct(slug)
+                        .map(this::mapToProductResponse)
+                        .orElseThrow(() -> new RuntimeException("Produto não encontrado")));
     }
 
     @Transactional(readOnly = true)
@@ -69,11 +96,8 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<ProductResponse> getActiveProducts() {
-        return productRepository.findByAtivo(true).stream()
-                .map(this::mapToProductResponse)
-                .collect(Collectors.toList());
+        return catalogCache.snapshot().activeProducts();
     }
 
     @Transactional(readOnly = true)
@@ -83,11 +107,91 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<ProductResponse> getActiveProductsByCategory(String category) {
-        return productRepository.findByCategoriaProductAndAtivo(category, true).stream()
+        return catalogCache.snapshot().activeProducts(category);
+    }
+
+    public List<CategoryFacetResponse> getCategoryFacets() {
+        // Garante que a fotografia (e, com ela, as contagens) já foi montada
+        catalogCache.snapshot();
+        return catalogFacets.facets();
+    }
+
+    /**
+     * Listagem paginada por keyset em ({@code created_at}, {@code id_product}) ou só
+     * {@code id_product}. O custo de cada página independe da posição no catálogo.
+     *
+     * @param ativo    filtra pelo status, ou {@code null} para todos
+     * @param category filtra pela categoria, ou {@code null} para todas
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProductsPage(Boolean ativo, String category, CursorPageRequest page) {
+        int pageSize = page.getLimit() != null ? page.getLimit() : defaultPageSize;
+        String sortKey = "id".equals(page.getSort()) ? "id" : "createdAt";
+        boolean ascending = "asc".equalsIgnoreCase(page.getDirection());
+        ProductCursor cursor = page.getCursor() != null ? ProductCursor.decode(page.getCursor(), sortKey) : null;
+
+        Specification<Product> specification = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (ativo != null) {
+                predicates.add(cb.equal(root.get("ativo"), ativo));
+            }
+            if (category != null) {
+                predicates.add(cb.equal(root.get("categoriaProduct"), category));
+            }
+            if (cursor != null) {
+                predicates.add(after(cursor, ascending, root, cb));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(sortKey)
+                ? Sort.by(direction, "idProduct")
+                : Sort.by(direction, "createdAt", "idProduct");
+
+        List<Product> rows = productRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Product> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Product last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ProductCursor(sortKey, last.getCreatedAt(), last.getIdProduct()).encode();
+        }
+
+        return new CursorPage<>(
+                pageRows.stream().map(this::mapToProductResponse).collect(Collectors.toList()),
+                nextCursor
+        );
+    }
+
+    /**
+     * Busca textual ranqueada no catálogo ativo. Sempre paginada: sem {@code size} usa o
+     * tamanho padrão de página.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductResponse> searchProducts(String term, String category, OffsetPageRequest page) {
+        String normalized = term != null ? term.trim() : "";
+        if (normalized.length() < MIN_SEARCH_LENGTH) {
+            throw new RuntimeException("Informe ao menos " + MIN_SEARCH_LENGTH + " caracteres para a busca");
+        }
+        if (normalized.length() > MAX_SEARCH_LENGTH) {
+            normalized = normalized.substring(0, MAX_SEARCH_LENGTH);
+        }
+
+        Pageable pageable = PageRequest.of(
+                page.getPage() != null ? page.getPage() : 0,
+                page.getSize() != null ? page.getSize() : defaultPageSize);
+        List<Product> rows = productRepository.search(
+                normalized, category, pageable.getPageSize() + 1, pageable.getOffset());
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ProductResponse> content = (hasNext ? rows.subList(0, pageable.getPageSize()) : rows).stream()
                 .map(this::mapToProductResponse)
                 .collect(Collectors.toList());
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
     @Transactional
@@ -124,6 +228,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        catalogCache.markChanged(updatedProduct.getIdProduct());
         return mapToProductResponse(updatedProduct);
     }
 
@@ -138,6 +243,8 @@ public class ProductService {
 
         inventoryService.deleteInventoryByProductId(id);
         productRepository.delete(product);
+        // Os preços do produto saem junto (ON DELETE CASCADE)
+        catalogCache.markPricesChanged(id);
     }
 
     @Transactional
@@ -146,6 +253,7 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
         product.setAtivo(false);
         Product updatedProduct = productRepository.save(product);
+        catalogCache.markChanged(updatedProduct.getIdProduct());
         return mapToProductResponse(updatedProduct);
     }
 
@@ -155,9 +263,31 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
         product.setAtivo(true);
         Product updatedProduct = productRepository.save(product);
+        catalogCache.markChanged(updatedProduct.getIdProduct());
         return mapToProductResponse(updatedProduct);
     }
 
+    private Predicate after(ProductCursor cursor, boolean ascending, Root<Product> root, CriteriaBuilder cb) {
+        Path<Integer> id = root.get("idProduct");
+        Predicate idAfter = ascending
+                ? cb.greaterThan(id, cursor.idProduct())
+                : cb.lessThan(id, cursor.idProduct());
+        if ("id".equals(cursor.sort())) {
+            return idAfter;
+        }
+
+        Path<OffsetDateTime> createdAt = root.get("createdAt");
+        Predicate createdAfter = ascending
+                ? cb.greaterThan(createdAt, cursor.createdAt())
+                : cb.lessThan(createdAt, cursor.createdAt());
+        // A Criteria API não tem comparação de tuplas; o limite em created_at vira condição
+        // de índice e o OR só filtra as linhas com o mesmo created_at do cursor
+        Predicate createdBound = ascending
+                ? cb.greaterThanOrEqualTo(createdAt, cursor.createdAt())
+                : cb.lessThanOrEqualTo(createdAt, cursor.createdAt());
+        return cb.and(createdBound, cb.or(createdAfter, idAfter));
+    }
+
     private ProductResponse mapToProductResponse(Product product) {
         return new ProductResponse(
                 product.getIdProduct(),
@@ -0,0 +1,88 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.BulkStockAdjustmentRequest;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentResponse;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentResponse.LineError;
+import com.reducess.trinketstore.service.InventoryLedger.Adjusted;
+import com.reducess.trinketstore.service.InventoryLedger.Adjustment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ajuste de estoque em massa para recebimentos e inventários físicos. Todas as linhas vão
+ * ao banco em um único comando ({@link InventoryLedger#apply(List, String)}); cada uma é
+ * aplicada ou recusada isoladamente, então um saldo que ficaria negativo não derruba o lote.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAdjustmentService {
+
+    private final InventoryLedger inventoryLedger;
+    private final FlashSaleStock flashSaleStock;
+    private final CatalogCache catalogCache;
+
+    /**
+     * Aplica a cada produto um delta ou uma quantidade absoluta (contagem física). Linhas
+     * inválidas, repetidas, de produtos em flash sale ou sem inventário são relatadas em
+     * {@code errors} junto com as que deixariam o saldo negativo; as demais são aplicadas.
+     */
+    @Transactional
+    public BulkStockAdjustmentResponse adjustStock(BulkStockAdjustmentRequest request) {
+        String reason = request.getReason() != null ? request.getReason() : InventoryLedger.ADJUSTMENT;
+        List<BulkStockAdjustmentRequest.Line> lines = request.getLines();
+
+        List<LineError> errors = flashSaleStock.excludingFlashSale(inFlashSale -> {
+            List<LineError> rejected = new ArrayList<>();
+            List<Adjustment> adjustments = new ArrayList<>(lines.size());
+            Set<Integer> seen = new HashSet<>();
+            for (int index = 0; index < lines.size(); index++) {
+                BulkStockAdjustmentRequest.Line line = lines.get(index);
+                int lineNumber = index + 1;
+                if ((line.getDelta() == null) == (line.getQtyOnHand() == null)) {
+                    rejected.add(new LineError(lineNumber, line.getProductId(), "Informe exatamente um entre delta e qtyOnHand"));
+                } else if (!seen.add(line.getProductId())) {
+                    rejected.add(new LineError(lineNumber, line.getProductId(), "Produto repetido no lote"));
+                } else if (inFlashSale.contains(line.getProductId())) {
+                    rejected.add(new LineError(lineNumber, line.getProductId(), "Produto está em flash sale"));
+                } else {
+                    adjustments.add(new Adjustment(lineNumber, line.getProductId(), line.getDelta(), line.getQtyOnHand()));
+                }
+            }
+            if (adjustments.isEmpty()) {
+                return rejected;
+            }
+
+            Set<Integer> changed = new HashSet<>();
+            for (Adjusted adjusted : inventoryLedger.apply(adjustments, reason)) {
+                if (adjusted.balance() == null) {
+                    rejected.add(new LineError(adjusted.line(), adjusted.productId(), "Inventário não encontrado"));
+                } else if (adjusted.balance().after() < 0) {
+                    rejected.add(new LineError(adjusted.line(), adjusted.productId(),
+                            "Estoque ficaria negativo (saldo atual: " + adjusted.balance().before() + ")"));
+                } else if (adjusted.balance().after() != adjusted.balance().before()) {
+                    changed.add(adjusted.productId());
+                }
+            }
+            catalogCache.markChanged(changed);
+            return rejected;
+        });
+
+        errors.sort(Comparator.comparingLong(LineError::getLine));
+        log.info("[inventory] Ajuste em massa ({}): {} linhas, {} recusadas", reason, lines.size(), errors.size());
+        return new BulkStockAdjustmentResponse(
+                lines.size(),
+                lines.size() - errors.size(),
+                errors.size(),
+                errors
+        );
+    }
+}
@@ -0,0 +1,195 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.CreateOrderItemRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservas de estoque dos pedidos PIX pendentes. O estoque é baixado no checkout e a
+ * reserva registra até quando ele fica preso ({@code pix_expires_at}). Uma varredura em
+ * segundo plano devolve ao inventário, em lotes e com comandos set-based, as reservas
+ * vencidas de pedidos ainda pendentes e as de pedidos cancelados.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    /**
+     * A devolução entra na cauda do razão de estoque, sem bloquear a linha de inventário.
+     * Devolve produto e quantidade para repor também o contador de uma flash sale.
+     */
+    private static final String RESTOCK_RELEASED =
+            "INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, order_id) " +
+            "SELECT r.product_id, r.qty_reserved, 'release', r.order_id FROM released r " +
+            "WHERE EXISTS (SELECT 1 FROM inventory i WHERE i.product_id = r.product_id) " +
+            "RETURNING product_id, delta_qty";
+    private static final String HOLD =
+            "INSERT INTO stock_reservations (order_id, product_id, qty_reserved, expires_at) " +
+            "SELECT ?, product_id, SUM(qty), ? FROM unnest(?, ?) AS r(product_id, qty) GROUP BY product_id";
+    private static final String HAS_RESERVATIONS =
+            "SELECT EXISTS (SELECT 1 FROM stock_reservations WHERE order_id = ?)";
+    private static final String RELEASE_ORDER =
+            "WITH released AS (" +
+            "UPDATE stock_reservations SET status_reservation = 'released', released_at = now() " +
+            "WHERE order_id = ? AND status_reservation <> 'released' " +
+            "RETURNING order_id, product_id, qty_reserved), " +
+            "restocked AS (" + RESTOCK_RELEASED + ") " +
+            "SELECT product_id, SUM(delta_qty)::INTEGER FROM restocked GROUP BY product_id";
+    private static final String SWEEP =
+            "WITH due AS (" +
+            "SELECT s.id_reservation FROM stock_reservations s JOIN orders o ON o.id_order = s.order_id " +
+            "WHERE s.status_reservation = 'held' " +
+            "AND ((o.status_order = 'pending' AND s.expires_at <= now()) OR o.status_order = 'canceled') " +
+            "ORDER BY s.expires_at LIMIT ? " +
+            "FOR UPDATE OF s, o SKIP LOCKED), " +
+            "released AS (" +
+            "UPDATE stock_reservations s SET status_reservation = 'released', released_at = now() " +
+            "FROM due d WHERE s.id_reservation = d.id_reservation " +
+            "RETURNING s.order_id, s.product_id, s.qty_reserved), " +
+            "restocked AS (" + RESTOCK_RELEASED + "), " +
+            "totals AS (" +
+            "SELECT product_id, SUM(delta_qty)::INTEGER AS qty FROM restocked GROUP BY product_id), " +
+            "expired AS (" +
+            "UPDATE orders o SET status_order = 'canceled' " +
+            "WHERE o.status_order = 'pending' AND o.id_order IN (SELECT order_id FROM released) " +
+            "RETURNING o.id_order) " +
+            "SELECT (SELECT COUNT(*) FROM released), (SELECT COUNT(*) FROM expired), " +
+            "ARRAY(SELECT product_id FROM totals ORDER BY product_id), " +
+            "ARRAY(SELECT qty FROM totals ORDER BY product_id)";
+    private static final String CONSUME_PAID =
+            "UPDATE stock_reservations s SET status_reservation = 'consumed' FROM orders o " +
+            "WHERE o.id_order = s.order_id AND s.status_reservation = 'held' " +
+            "AND o.status_order IN ('paid', 'fulfilled', 'picked_up')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCache catalogCache;
+    private final FlashSaleStock flashSaleStock;
+    private final boolean enabled;
+    private final Duration sweepInterval;
+    private final int sweepBatchSize;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor();
+
+    public StockReservationService(JdbcTemplate jdbcTemplate,
+                                   CatalogCache catalogCache,
+                                   FlashSaleStock flashSaleStock,
+                                   @Value("${pix.reservation.sweep-enabled:true}") boolean enabled,
+                                   @Value("${pix.reservation.sweep-interval:PT30S}") Duration sweepInterval,
+                                   @Value("${pix.reservation.sweep-batch-size:500}") int sweepBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogCache = catalogCache;
+        this.flashSaleStock = flashSaleStock;
+        this.enabled = enabled;
+        this.sweepInterval = sweepInterval;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Registra a reserva dos itens de um pedido já baixados do inventário. Deve rodar na
+     * mesma transação da baixa, para que pedido, estoque e reserva fiquem consistentes.
+     */
+    public void hold(Integer orderId, List<CreateOrderItemRequest> items, OffsetDateTime expiresAt) {
+        Integer[] productIds = items.stream().map(CreateOrderItemRequest::getProductId).toArray(Integer[]::new);
+        Integer[] quantities = items.stream().map(CreateOrderItemRequest::getQtyItems).toArray(Integer[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(HOLD);
+            statement.setInt(1, orderId);
+            statement.setObject(2, expiresAt);
+            statement.setArray(3, connection.createArrayOf("integer", productIds));
+            statement.setArray(4, connection.createArrayOf("integer", quantities));
+            return statement;
+        });
+    }
+
+    /**
+     * Devolve ao inventário o que o pedido ainda segura (reservas não liberadas).
+     *
+     * @return {@code false} se o pedido não tem reservas, e o chamador deve repor o estoque pelos itens
+     */
+    public boolean releaseOrder(Integer orderId) {
+        Boolean hasReservations = jdbcTemplate.queryForObject(HAS_RESERVATIONS, Boolean.class, orderId);
+        if (!Boolean.TRUE.equals(hasReservations)) {
+            return false;
+        }
+        Map<Integer, Integer> restocked = new HashMap<>();
+        jdbcTemplate.query(RELEASE_ORDER, resultSet -> {
+            restocked.put(resultSet.getInt(1), resultSet.getInt(2));
+        }, orderId);
+        restock(restocked);
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeper() {
+        if (!enabled) {
+            return;
+        }
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Libera, em lotes de {@code sweep-batch-size}, as reservas vencidas e as de pedidos
+     * cancelados, cancelando os pedidos pendentes cujo PIX expirou. Reservas de pedidos
+     * pagos são marcadas como consumidas.
+     */
+    void sweep() {
+        try {
+            jdbcTemplate.update(CONSUME_PAID);
+
+            long released;
+            do {
+                SweepResult result = jdbcTemplate.queryForObject(SWEEP, (resultSet, rowNum) -> new SweepResult(
+                        resultSet.getLong(1),
+                        resultSet.getLong(2),
+                        (Integer[]) resultSet.getArray(3).getArray(),
+                        (Integer[]) resultSet.getArray(4).getArray()
+                ), sweepBatchSize);
+                released = result.released();
+                // Cada lote já foi commitado (autocommit): repõe agora, antes que um lote seguinte falhe
+                Map<Integer, Integer> restocked = new HashMap<>();
+                for (int index = 0; index < result.productIds().length; index++) {
+                    restocked.put(result.productIds()[index], result.quantities()[index]);
+                }
+                restock(restocked);
+                if (released > 0) {
+                    log.info("[reservations] {} reservas liberadas, {} pedidos pendentes expirados",
+                            released, result.expiredOrders());
+                }
+            } while (released >= sweepBatchSize);
+        } catch (Exception e) {
+            log.error("[reservations] Erro ao liberar reservas de estoque", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownSweeper() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * O que voltou ao razão também volta ao contador dos produtos em flash sale, senão a
+     * quantidade ficaria invendável até o fim da promoção.
+     */
+    private void restock(Map<Integer, Integer> restocked) {
+        restocked.forEach(flashSaleStock::restock);
+        catalogCache.markChanged(restocked.keySet());
+    }
+
+    private record SweepResult(long released, long expiredOrders, Integer[] productIds, Integer[] quantities) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.OffsetPageRequest;
+import com.reducess.trinketstore.dto.StorefrontProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Leituras agregadas do storefront: produto ativo, preço vigente e estoque em uma
+ * única resposta, servidas da fotografia do {@link CatalogCache} sem ir ao banco.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorefrontService {
+
+    private final CatalogCache catalogCache;
+
+    @Value("${catalog.pagination.default-page-size:24}")
+    private int defaultPageSize;
+
+    public Slice<StorefrontProductResponse> getProducts(String category, OffsetPageRequest page) {
+        CatalogSnapshot snapshot = catalogCache.snapshot();
+        List<StorefrontProductResponse> products = category != null
+                ? snapshot.storefrontProducts(category)
+                : snapshot.storefrontProducts();
+
+        Pageable pageable = page.toPageable(Sort.unsorted(), defaultPageSize);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(products, pageable, false);
+        }
+        int from = (int) Math.min(pageable.getOffset(), products.size());
+        int to = Math.min(from + pageable.getPageSize(), products.size());
+        return new SliceImpl<>(products.subList(from, to), pageable, to < products.size());
+    }
+
+    public StorefrontProductResponse getProductBySlug(String slug) {
+        return catalogCache.snapshot().findBySlug(slug)
+                .map(CatalogItem::toStorefrontResponse)
+                .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.reducess.trinketstore.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Saldo de um produto em flash sale dividido em faixas atômicas independentes. Cada
+ * thread começa pela sua faixa, então compradores simultâneos fazem CAS em linhas de
+ * cache diferentes em vez de disputar um único contador. Só quando a faixa da thread
+ * não cobre o pedido é que as demais são consultadas.
+ */
+final class StripedStockCounter {
+
+    /** 16 ints = 64 bytes: cada faixa ocupa sua própria linha de cache. */
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int mask;
+    /** Baixas ainda sem commit/rollback; o fim da flash sale espera por elas. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    StripedStockCounter(int stripes, int initial) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("O número de faixas deve ser potência de 2");
+        }
+        this.cells = new AtomicIntegerArray(stripes * PADDING);
+        this.mask = stripes - 1;
+        int share = initial / stripes;
+        int remainder = initial % stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * PADDING, share + (stripe < remainder ? 1 : 0));
+        }
+    }
+
+    /**
+     * Tenta retirar {@code quantity} unidades sem bloqueio. Devolve {@code false} se o
+     * saldo somado das faixas não cobre o pedido; nesse caso nada é retirado.
+     */
+    boolean tryClaim(int quantity) {
+        int start = probe();
+        int stripes = mask + 1;
+
+        // Caminho comum: uma única faixa cobre o pedido
+        for (int offset = 0; offset < stripes; offset++) {
+            int cell = ((start + offset) & mask) * PADDING;
+            int current = cells.get(cell);
+            while (current >= quantity) {
+                if (cells.compareAndSet(cell, current, current - quantity)) {
+                    return true;
+                }
+                current = cells.get(cell);
+            }
+        }
+
+        // Saldo fragmentado entre faixas: junta o que houver e devolve se não bastar
+        int[] taken = new int[stripes];
+        int remaining = quantity;
+        for (int offset = 0; offset < stripes && remaining > 0; offset++) {
+            int stripe = (start + offset) & mask;
+            int cell = stripe * PADDING;
+            int current = cells.get(cell);
+            while (current > 0) {
+                int take = Math.min(current, remaining);
+                if (cells.compareAndSet(cell, current, current - take)) {
+                    taken[stripe] = take;
+                    remaining -= take;
+                    break;
+                }
+                current = cells.get(cell);
+            }
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0) {
+                cells.getAndAdd(stripe * PADDING, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    void release(int quantity) {
+        cells.getAndAdd((probe() & mask) * PADDING, quantity);
+    }
+
+    int available() {
+        int total = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            total += cells.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    int stripes() {
+        return mask + 1;
+    }
+
+    void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    boolean isSettled() {
+        return inFlight.get() == 0;
+    }
+
+    private static int probe() {
+        // Espalha ids de thread consecutivos por faixas diferentes
+        long id = Thread.currentThread().threadId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+    }
+}
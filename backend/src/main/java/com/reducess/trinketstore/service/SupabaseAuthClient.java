@@ -0,0 +1,208 @@
+package com.reducess.trinketstore.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reducess.trinketstore.config.SupabaseConfig;
+import com.reducess.trinketstore.exception.SupabaseAuthException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway para o Supabase Auth. As chamadas rodam em virtual threads, com pool de
+ * conexões, timeouts explícitos e um bulkhead que limita quantas chamadas simultâneas
+ * podem estar em andamento, para que um pico de logins não segure os workers do Tomcat.
+ */
+@Slf4j
+@Service
+public class SupabaseAuthClient {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final SupabaseConfig supabaseConfig;
+    private final ObjectMapper objectMapper;
+    private final OkHttpClient httpClient;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SupabaseAuthClient(SupabaseConfig supabaseConfig,
+                              ObjectMapper objectMapper,
+                              @Value("${supabase.http.connect-timeout:PT2S}") Duration connectTimeout,
+                              @Value("${supabase.http.read-timeout:PT5S}") Duration readTimeout,
+                              @Value("${supabase.http.call-timeout:PT10S}") Duration callTimeout,
+                              @Value("${supabase.http.max-idle-connections:16}") int maxIdleConnections,
+                              @Value("${supabase.http.keep-alive:PT5M}") Duration keepAlive,
+                              @Value("${supabase.http.max-concurrent-calls:32}") int maxConcurrentCalls,
+                              @Value("${supabase.http.bulkhead-wait:PT0.5S}") Duration bulkheadWait) {
+        this.supabaseConfig = supabaseConfig;
+        this.objectMapper = objectMapper;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrentCalls);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentCalls);
+
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(readTimeout)
+                .callTimeout(callTimeout)
+                .build();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWaitMillis = bulkheadWait.toMillis();
+    }
+
+    public CompletableFuture<Session> signUp(String email, String password) {
+        return submit("/auth/v1/signup", new Credentials(email, password));
+    }
+
+    public CompletableFuture<Session> signIn(String email, String password) {
+        return submit("/auth/v1/token?grant_type=password", new Credentials(email, password));
+    }
+
+    private CompletableFuture<Session> submit(String path, Credentials credentials) {
+        return CompletableFuture.supplyAsync(() -> call(path, credentials), executor);
+    }
+
+    private Session call(String path, Credentials credentials) {
+        acquire();
+        try {
+            Request httpRequest = new Request.Builder()
+                    .url(supabaseConfig.getSupabaseUrl() + path)
+                    .post(RequestBody.create(objectMapper.writeValueAsBytes(credentials), JSON))
+                    .addHeader("apikey", supabaseConfig.getAnonKey())
+                    .build();
+
+            try (Response response = httpClient.newCall(httpRequest).execute()) {
+                String responseBody = response.body() != null ? response.body().string() : "";
+
+                if (!response.isSuccessful()) {
+                    throw new SupabaseAuthException(parseSupabaseError(responseBody));
+                }
+
+                JsonNode jsonResponse = objectMapper.readTree(responseBody);
+                return new Session(
+                        UUID.fromString(jsonResponse.get("user").get("id").asText()),
+                        jsonResponse.get("access_token").asText(),
+                        jsonResponse.get("refresh_token").asText(),
+                        jsonResponse.get("expires_in").asLong()
+                );
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("[supabase] Bulkhead cheio, recusando chamada ao Supabase Auth");
+                throw new SupabaseAuthException("Muitas tentativas. Por favor, aguarde alguns instantes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SupabaseAuthException("Erro na autenticação. Por favor, tente novamente");
+        }
+    }
+
+    private String parseSupabaseError(String responseBody) {
+        try {
+            JsonNode errorJson = objectMapper.readTree(responseBody);
+
+            if (errorJson.has("error_description")) {
+                String errorDescription = errorJson.get("error_description").asText().toLowerCase();
+
+                // Tradução de erros comuns do Supabase
+                if (errorDescription.contains("invalid login credentials") ||
+                    errorDescription.contains("invalid credentials")) {
+                    return "Email ou senha inválidos";
+                }
+
+                if (errorDescription.contains("email not confirmed")) {
+                    return "Email não confirmado. Por favor, verifique seu email";
+                }
+
+                if (errorDescription.contains("user already registered") ||
+                    errorDescription.contains("already registered")) {
+                    return "Este email já está cadastrado";
+                }
+
+                if (errorDescription.contains("password") && errorDescription.contains("weak")) {
+                    return "A senha é muito fraca. Use uma senha mais forte";
+                }
+
+                if (errorDescription.contains("invalid email")) {
+                    return "Email inválido";
+                }
+
+                if (errorDescription.contains("email rate limit exceeded")) {
+                    return "Muitas tentativas. Por favor, aguarde alguns minutos";
+                }
+            }
+
+            if (errorJson.has("message")) {
+                return translateGenericError(errorJson.get("message").asText());
+            }
+
+            if (errorJson.has("msg")) {
+                return translateGenericError(errorJson.get("msg").asText());
+            }
+
+        } catch (Exception e) {
+            // Se não conseguir parsear, retorna mensagem genérica
+        }
+
+        return "Email ou senha inválidos";
+    }
+
+    private String translateGenericError(String message) {
+        String lowerMessage = message.toLowerCase();
+
+        if (lowerMessage.contains("invalid") || lowerMessage.contains("wrong")) {
+            return "Email ou senha inválidos";
+        }
+
+        if (lowerMessage.contains("not found")) {
+            return "Usuário não encontrado";
+        }
+
+        if (lowerMessage.contains("already exists") || lowerMessage.contains("duplicate")) {
+            return "Este email já está cadastrado";
+        }
+
+        return "Erro na autenticação. Por favor, tente novamente";
+    }
+
+    @PreDestroy
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    public record Session(UUID authId, String accessToken, String refreshToken, Long expiresIn) {
+    }
+
+    private record Credentials(String email, String password) {
+    }
+}
@@ -10,6 +10,7 @@ import com.reducess.trinketstore.dto.UserResponse;
 import com.reducess.trinketstore.entity.User;
 import com.reducess.trinketstore.repository.UserRepository;
 import com.reducess.trinketstore.security.UserPrincipal;
+import com.reducess.trinketstore.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import okhttp3.*;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final SupabaseConfig supabaseConfig;
+    private final UserPrincipalCache userPrincipalCache;
     private final OkHttpClient httpClient = new OkHttpClient();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -43,6 +45,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userPrincipalCache.evict(user.getAuthId());
         return mapToUserResponse(user);
     }
 
@@ -68,6 +71,7 @@ public class UserService {
             }
 
             userRepository.delete(user);
+            userPrincipalCache.evict(user.getAuthId());
         } catch (Exception e) {
             throw new RuntimeException("Error deleting user: " + e.getMessage(), e);
         }
@@ -95,6 +99,7 @@ public class UserService {
             }
 
             userRepository.delete(user);
+            userPrincipalCache.evict(user.getAuthId());
         } catch (Exception e) {
             throw new RuntimeException("Error deleting user: " + e.getMessage(), e);
         }
@@ -152,6 +157,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userPrincipalCache.evict(user.getAuthId());
         return mapToUserResponse(user);
     }
 
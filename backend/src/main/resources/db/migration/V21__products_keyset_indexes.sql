@@ -0,0 +1,6 @@
+-- Indexes backing keyset pagination of the catalog listings
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products (created_at, id_product);
+CREATE INDEX IF NOT EXISTS idx_products_ativo_created_at_id ON products (ativo, created_at, id_product);
+CREATE INDEX IF NOT EXISTS idx_products_ativo_id ON products (ativo, id_product);
+CREATE INDEX IF NOT EXISTS idx_products_categoria_created_at_id ON products (categoria_product, created_at, id_product);
+CREATE INDEX IF NOT EXISTS idx_products_categoria_id ON products (categoria_product, id_product);
@@ -0,0 +1,12 @@
+-- Full-text (portuguese) and trigram search over the catalog
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('portuguese', coalesce(nome_product, '')), 'A') ||
+            setweight(to_tsvector('portuguese', coalesce(descricao_product, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_products_nome_trgm ON products USING GIN (nome_product gin_trgm_ops);
@@ -0,0 +1,30 @@
+-- Pooled sequences (INCREMENT BY 50) replace IDENTITY so Hibernate can batch inserts.
+-- setval leaves the next value at MAX + 50: the first pooled block starts right after the existing rows.
+
+ALTER TABLE products ALTER COLUMN id_product DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS products_id_product_seq INCREMENT BY 50 OWNED BY products.id_product;
+ALTER TABLE products ALTER COLUMN id_product SET DEFAULT nextval('products_id_product_seq');
+SELECT setval('products_id_product_seq', COALESCE((SELECT MAX(id_product) FROM products), 0) + 50, false);
+
+ALTER TABLE prices ALTER COLUMN id_price DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS prices_id_price_seq INCREMENT BY 50 OWNED BY prices.id_price;
+ALTER TABLE prices ALTER COLUMN id_price SET DEFAULT nextval('prices_id_price_seq');
+SELECT setval('prices_id_price_seq', COALESCE((SELECT MAX(id_price) FROM prices), 0) + 50, false);
+
+ALTER SEQUENCE users_id_user_seq INCREMENT BY 50;
+SELECT setval('users_id_user_seq', COALESCE((SELECT MAX(id_user) FROM users), 0) + 50, false);
+
+ALTER TABLE orders ALTER COLUMN id_order DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS orders_id_order_seq INCREMENT BY 50 OWNED BY orders.id_order;
+ALTER TABLE orders ALTER COLUMN id_order SET DEFAULT nextval('orders_id_order_seq');
+SELECT setval('orders_id_order_seq', COALESCE((SELECT MAX(id_order) FROM orders), 0) + 50, false);
+
+ALTER TABLE order_items ALTER COLUMN id_items DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS order_items_id_items_seq INCREMENT BY 50 OWNED BY order_items.id_items;
+ALTER TABLE order_items ALTER COLUMN id_items SET DEFAULT nextval('order_items_id_items_seq');
+SELECT setval('order_items_id_items_seq', COALESCE((SELECT MAX(id_items) FROM order_items), 0) + 50, false);
+
+ALTER TABLE inventory ALTER COLUMN id_inventory DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS inventory_id_inventory_seq INCREMENT BY 50 OWNED BY inventory.id_inventory;
+ALTER TABLE inventory ALTER COLUMN id_inventory SET DEFAULT nextval('inventory_id_inventory_seq');
+SELECT setval('inventory_id_inventory_seq', COALESCE((SELECT MAX(id_inventory) FROM inventory), 0) + 50, false);
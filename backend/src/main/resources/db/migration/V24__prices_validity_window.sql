@@ -0,0 +1,19 @@
+-- Effective-dated prices: each price is valid in [valid_from, valid_to); valid_to NULL means open-ended.
+-- vigente_price stays as the materialized "current price" flag, kept in sync by the price scheduler.
+-- Existing vigente prices open now; historic prices get an empty window so they never reactivate.
+
+ALTER TABLE prices ADD COLUMN IF NOT EXISTS valid_from TIMESTAMPTZ;
+ALTER TABLE prices ADD COLUMN IF NOT EXISTS valid_to TIMESTAMPTZ;
+
+UPDATE prices
+SET valid_from = now(),
+    valid_to = CASE WHEN vigente_price THEN NULL ELSE now() END
+WHERE valid_from IS NULL;
+
+ALTER TABLE prices ALTER COLUMN valid_from SET DEFAULT now();
+ALTER TABLE prices ALTER COLUMN valid_from SET NOT NULL;
+
+ALTER TABLE prices
+    ADD CONSTRAINT chk_prices_valid_window CHECK (valid_to IS NULL OR valid_to >= valid_from);
+
+CREATE INDEX IF NOT EXISTS idx_prices_product_valid_from ON prices (product_id, valid_from DESC, id_price DESC);
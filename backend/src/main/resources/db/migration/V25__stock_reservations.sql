@@ -0,0 +1,17 @@
+-- Stock held by pending PIX orders until pix_expires_at.
+-- held: stock already deducted from inventory; consumed: order paid; released: stock returned to inventory.
+CREATE TABLE IF NOT EXISTS stock_reservations (
+  id_reservation      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  order_id            INTEGER NOT NULL REFERENCES orders(id_order) ON DELETE CASCADE,
+  product_id          INTEGER NOT NULL REFERENCES products(id_product) ON DELETE CASCADE,
+  qty_reserved        INTEGER NOT NULL CHECK (qty_reserved > 0),
+  status_reservation  VARCHAR(20) NOT NULL DEFAULT 'held' CHECK (status_reservation IN ('held','consumed','released')),
+  expires_at          TIMESTAMPTZ NOT NULL,
+  released_at         TIMESTAMPTZ,
+  created_at          TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+  CONSTRAINT uk_stock_reservations_order_product UNIQUE (order_id, product_id)
+);
+
+-- The sweeper only ever scans held reservations, oldest expiry first
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_held_expires_at
+    ON stock_reservations (expires_at) WHERE status_reservation = 'held';
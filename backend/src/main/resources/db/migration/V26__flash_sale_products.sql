@@ -0,0 +1,12 @@
+-- Products whose stock is claimed from in-memory counters during a flash sale.
+-- Kept in the database so the counters can be rebuilt after a restart.
+CREATE TABLE IF NOT EXISTS flash_sale_products (
+  product_id  INTEGER PRIMARY KEY REFERENCES products(id_product) ON DELETE CASCADE,
+  started_at  TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Flash-sale order items whose stock decrement has not been applied to inventory yet
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS stock_pending BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_order_items_stock_pending
+    ON order_items (order_id) WHERE stock_pending;
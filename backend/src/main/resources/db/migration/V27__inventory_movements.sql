@@ -0,0 +1,27 @@
+-- Append-only stock ledger. inventory.qty_on_hand is the compacted snapshot:
+-- compacted movements are already folded into it, the uncompacted tail is not yet.
+-- On hand = qty_on_hand + SUM(delta_qty) of the uncompacted tail.
+CREATE TABLE IF NOT EXISTS inventory_movements (
+  id_movement      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  product_id       INTEGER NOT NULL REFERENCES products(id_product) ON DELETE CASCADE,
+  delta_qty        INTEGER NOT NULL CHECK (delta_qty <> 0),
+  reason_movement  VARCHAR(20) NOT NULL CHECK (reason_movement IN
+                     ('opening','receipt','restock','release','removal','adjustment','checkout','import')),
+  order_id         INTEGER,
+  compacted        BOOLEAN NOT NULL DEFAULT FALSE,
+  created_at       TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- History per product, newest first
+CREATE INDEX IF NOT EXISTS idx_inventory_movements_product
+    ON inventory_movements (product_id, id_movement);
+
+-- Ledger tail read by every on-hand lookup and by the compactor
+CREATE INDEX IF NOT EXISTS idx_inventory_movements_tail
+    ON inventory_movements (product_id) WHERE NOT compacted;
+
+-- Opening balance so that qty_on_hand = SUM(delta_qty) of compacted movements from day one
+INSERT INTO inventory_movements (product_id, delta_qty, reason_movement, compacted)
+SELECT product_id, qty_on_hand, 'opening', TRUE
+FROM inventory
+WHERE qty_on_hand <> 0;
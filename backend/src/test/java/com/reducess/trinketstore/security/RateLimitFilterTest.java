@@ -0,0 +1,58 @@
+package com.reducess.trinketstore.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new MockEnvironment()
+                    .withProperty("rate-limit.auth-signin.requests", "1")
+                    .withProperty("rate-limit.auth-signin.period", "PT1M")
+                    .withProperty("rate-limit.auth-signin.burst", "1"),
+            new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(),
+            true,
+            100,
+            4);
+
+    @Test
+    void rejectsOverLimitWith429AndRetryAfter() throws Exception {
+        MockFilterChain admitted = new MockFilterChain();
+        filter.doFilter(signIn(), new MockHttpServletResponse(), admitted);
+        assertNotNull(admitted.getRequest());
+
+        MockFilterChain rejected = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(signIn(), response, rejected);
+
+        assertNull(rejected.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Muitas requisições"));
+    }
+
+    @Test
+    void ignoresRoutesWithoutPolicy() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    private static MockHttpServletRequest signIn() {
+        return new MockHttpServletRequest("POST", "/auth/signin");
+    }
+}
@@ -0,0 +1,68 @@
+package com.reducess.trinketstore.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /** 2 por minuto com rajada de 3: uma ficha a cada 30 s. */
+    private static final TokenBucketRateLimiter.Policy POLICY =
+            TokenBucketRateLimiter.Policy.of(2, Duration.ofMinutes(1), 3);
+
+    @Test
+    void admitsBurstThenDeniesWithWaitUntilNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client", POLICY, 0));
+        }
+        assertEquals(30 * SECOND, limiter.tryAcquire("client", POLICY, 0));
+        // Negar não consome ficha: a espera só diminui com o tempo
+        assertEquals(20 * SECOND, limiter.tryAcquire("client", POLICY, 10 * SECOND));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("client", POLICY, 0);
+        }
+
+        assertEquals(0, limiter.tryAcquire("client", POLICY, 30 * SECOND));
+        assertEquals(30 * SECOND, limiter.tryAcquire("client", POLICY, 30 * SECOND));
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 4);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", POLICY, 0);
+        }
+
+        assertTrue(limiter.tryAcquire("a", POLICY, 0) > 0);
+        assertEquals(0, limiter.tryAcquire("b", POLICY, 0));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKeyBeyondMaxKeys() {
+        TokenBucketRateLimiter.Policy single = TokenBucketRateLimiter.Policy.of(1, Duration.ofMinutes(1), 1);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1);
+
+        assertEquals(0, limiter.tryAcquire("a", single, 0));
+        assertEquals(0, limiter.tryAcquire("b", single, 0));
+        // Acessar "a" o torna o mais recente; "b" passa a ser o mais antigo
+        assertTrue(limiter.tryAcquire("a", single, 0) > 0);
+        assertEquals(0, limiter.tryAcquire("c", single, 0));
+
+        assertTrue(limiter.tryAcquire("a", single, 0) > 0);
+        // "b" foi despejado e recomeça com o bucket cheio
+        assertEquals(0, limiter.tryAcquire("b", single, 0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.CategoryFacetResponse;
+import com.reducess.trinketstore.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogFacetsTest {
+
+    private final CatalogFacets facets = new CatalogFacets();
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void rebuild() {
+        snapshot = CatalogSnapshot.of(List.of(item(1, "brinquedos", 3), item(2, "brinquedos", 0), item(3, "livros", 1)));
+        facets.onCatalogChanged(new CatalogChangedEvent(snapshot, Set.of(), true));
+    }
+
+    @Test
+    void fullRebuildCountsActiveAndInStockProducts() {
+        assertEquals(List.of(facet("brinquedos", 2, 1), facet("livros", 1, 1)), facets.facets());
+    }
+
+    @Test
+    void categoryChangeMovesTheProductAndDropsEmptiedCategory() {
+        change(List.of(item(3, "brinquedos", 1)), 3);
+
+        assertEquals(List.of(facet("brinquedos", 3, 2)), facets.facets());
+    }
+
+    @Test
+    void deactivationRemovesTheProductContribution() {
+        change(List.of(), 1);
+
+        assertEquals(List.of(facet("brinquedos", 1, 0), facet("livros", 1, 1)), facets.facets());
+    }
+
+    @Test
+    void stockDownToZeroOnlyLeavesTheInStockCount() {
+        change(List.of(item(1, "brinquedos", 0)), 1);
+
+        assertEquals(List.of(facet("brinquedos", 2, 0), facet("livros", 1, 1)), facets.facets());
+    }
+
+    @Test
+    void categoryIsRemovedWhenItsLastProductLeaves() {
+        change(List.of(), 3);
+        change(List.of(), 1);
+        change(List.of(), 2);
+
+        assertEquals(List.of(), facets.facets());
+    }
+
+    private void change(List<CatalogItem> updated, Integer productId) {
+        snapshot = snapshot.with(updated, Set.of(productId));
+        facets.onCatalogChanged(new CatalogChangedEvent(snapshot, Set.of(productId), false));
+    }
+
+    private static CatalogItem item(int productId, String category, int qtyOnHand) {
+        ProductResponse product = new ProductResponse(productId, "Produto " + productId, "produto-" + productId,
+                "Descrição", "https://example.com/produto.png", category, true, OffsetDateTime.now());
+        return new CatalogItem(product, null, qtyOnHand);
+    }
+
+    private static CategoryFacetResponse facet(String category, int active, int inStock) {
+        return new CategoryFacetResponse(category, active, inStock);
+    }
+}
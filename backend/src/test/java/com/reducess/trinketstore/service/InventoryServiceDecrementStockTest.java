@@ -0,0 +1,93 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.CreateOrderItemRequest;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.exception.InsufficientStockException;
+import com.reducess.trinketstore.repository.InventoryRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class InventoryServiceDecrementStockTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Integer plentiful;
+    private Integer scarce;
+
+    @BeforeEach
+    void seed() {
+        plentiful = product(10);
+        scarce = product(1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void decrementsEveryLineAndSumsRepeatedProducts() {
+        inventoryService.decrementStock(null, List.of(item(plentiful, 3), item(scarce, 1), item(plentiful, 2)));
+
+        entityManager.clear();
+        assertEquals(5, inventoryRepository.findByProductId(plentiful).orElseThrow().getQtyOnHand());
+        assertEquals(0, inventoryRepository.findByProductId(scarce).orElseThrow().getQtyOnHand());
+    }
+
+    @Test
+    void reportsShortAndMissingProducts() {
+        Integer missing = product(null);
+        entityManager.flush();
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.decrementStock(null, List.of(item(plentiful, 1), item(scarce, 2), item(missing, 1))));
+
+        assertEquals(List.of(scarce, missing).stream().sorted().toList(), exception.getProductIds());
+    }
+
+    @Test
+    void foldsLedgerTailBeforeDecrementing() {
+        inventoryService.addStockByProductId(scarce, 2);
+
+        inventoryService.decrementStock(null, List.of(item(scarce, 3)));
+
+        entityManager.clear();
+        Inventory inventory = inventoryRepository.findByProductId(scarce).orElseThrow();
+        assertEquals(0, inventory.getQtyOnHand());
+        assertEquals(0, inventory.getQtyPending());
+    }
+
+    private Integer product(Integer qtyOnHand) {
+        Integer productId = productRepository.save(TestFixtures.product("decrement-stock")).getIdProduct();
+        if (qtyOnHand != null) {
+            Inventory inventory = new Inventory();
+            inventory.setProductId(productId);
+            inventory.setQtyOnHand(qtyOnHand);
+            inventoryRepository.save(inventory);
+        }
+        return productId;
+    }
+
+    private CreateOrderItemRequest item(Integer productId, int quantity) {
+        return new CreateOrderItemRequest(productId, quantity, 1990, 1990 * quantity);
+    }
+}
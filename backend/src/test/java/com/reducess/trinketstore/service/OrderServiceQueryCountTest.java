@@ -0,0 +1,96 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.OffsetPageRequest;
+import com.reducess.trinketstore.dto.OrderResponse;
+import com.reducess.trinketstore.entity.Order;
+import com.reducess.trinketstore.entity.OrderItem;
+import com.reducess.trinketstore.repository.OrderItemRepository;
+import com.reducess.trinketstore.repository.OrderRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import com.reducess.trinketstore.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 500;
+    private static final int ITEMS_PER_ORDER = 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer userId;
+
+    @BeforeEach
+    void seed() {
+        userId = userRepository.save(TestFixtures.customer("query-count")).getIdUser().intValue();
+        Integer productId = productRepository.save(TestFixtures.product("order-query-count")).getIdProduct();
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUserId(userId);
+            order.setTotalOrders(1990 * ITEMS_PER_ORDER);
+            order.setCheckoutId("QC-" + UUID.randomUUID());
+            order.setPaymentIntent("QC-" + UUID.randomUUID());
+            Integer orderId = orderRepository.save(order).getIdOrder();
+
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrderId(orderId);
+                item.setProductId(productId);
+                item.setQtyItems(1);
+                item.setUnitAmount(1990);
+                item.setSubtotalAmount(1990);
+                orderItemRepository.save(item);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pageOfOrdersLoadsItemsWithConstantStatementCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<OrderResponse> orders = orderService.getOrdersByUserId(userId, new OffsetPageRequest(0, ORDERS));
+
+        assertEquals(ORDERS, orders.getNumberOfElements());
+        assertTrue(orders.getContent().stream().allMatch(order -> order.getItems().size() == ITEMS_PER_ORDER));
+        // Uma consulta para os pedidos e uma para todos os itens da página
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,94 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.OffsetPageRequest;
+import com.reducess.trinketstore.dto.PriceResponse;
+import com.reducess.trinketstore.entity.Price;
+import com.reducess.trinketstore.repository.PriceRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class PriceServiceQueryCountTest {
+
+    private static final int PRODUCTS = 50;
+
+    @Autowired
+    private PriceService priceService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            Integer productId = productRepository.save(TestFixtures.product("query-count")).getIdProduct();
+            productIds.add(productId);
+
+            for (int j = 0; j < 3; j++) {
+                Price price = new Price();
+                price.setProductId(productId);
+                price.setAmountPrice(1000 + j);
+                price.setCurrencyPrice("BRL");
+                price.setVigentePrice(j == 2);
+                priceRepository.save(price);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listingAllPricesUsesSingleStatement() {
+        Statistics statistics = statistics();
+
+        Slice<PriceResponse> prices = priceService.getPrices(null, null, new OffsetPageRequest());
+
+        assertTrue(prices.getNumberOfElements() >= PRODUCTS * 3);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listingActivePricesForProductSetUsesSingleStatementPerPage() {
+        Statistics statistics = statistics();
+
+        Slice<PriceResponse> prices = priceService.getPrices(true, productIds, new OffsetPageRequest(0, 20));
+
+        assertEquals(20, prices.getNumberOfElements());
+        assertTrue(prices.hasNext());
+        assertTrue(prices.getContent().stream().allMatch(price -> price.getProductName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,95 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.entity.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceTimelineTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void promotionCoversBasePriceAndHandsItBack() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1, 1000, 0, null, true),
+                price(2, 800, 10, 20, false)));
+
+        assertEquals(1, timeline.at(hours(5)).idPrice());
+        assertEquals(2, timeline.at(hours(10)).idPrice());
+        assertEquals(2, timeline.at(hours(19)).idPrice());
+        // validTo é exclusivo: no fim da promoção o preço base volta a valer
+        assertEquals(1, timeline.at(hours(20)).idPrice());
+        assertNull(timeline.at(hours(-1)));
+    }
+
+    @Test
+    void overlappingWindowsAreWonByTheLatestStart() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1, 1000, 0, null, true),
+                price(2, 900, 10, 30, false),
+                price(3, 700, 15, 20, false)));
+
+        assertEquals(2, timeline.at(hours(12)).idPrice());
+        assertEquals(3, timeline.at(hours(15)).idPrice());
+        assertEquals(2, timeline.at(hours(25)).idPrice());
+        assertEquals(1, timeline.at(hours(30)).idPrice());
+    }
+
+    @Test
+    void emptyWindowNeverWins() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1, 1000, 0, null, true),
+                price(2, 500, 10, 10, false)));
+
+        assertEquals(1, timeline.at(hours(10)).idPrice());
+        assertNull(timeline.nextTransitionAfter(hours(0)));
+    }
+
+    @Test
+    void nextTransitionSkipsBoundariesThatKeepTheWinner() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1, 1000, 0, null, true),
+                price(2, 900, 10, 30, false),
+                // Termina dentro da janela 2, que começou depois: em 25 o vencedor não muda
+                price(3, 950, 5, 25, false)));
+
+        assertEquals(hours(5), timeline.nextTransitionAfter(hours(0)));
+        assertEquals(hours(10), timeline.nextTransitionAfter(hours(5)));
+        assertEquals(hours(30), timeline.nextTransitionAfter(hours(10)));
+        assertNull(timeline.nextTransitionAfter(hours(30)));
+    }
+
+    @Test
+    void inSyncComparesTheWinnerWithTheVigenteFlag() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+                price(1, 1000, 0, null, true),
+                price(2, 800, 10, 20, false)));
+
+        assertTrue(timeline.inSync(hours(5)));
+        assertFalse(timeline.inSync(hours(10)));
+    }
+
+    private static Price price(int idPrice, int amount, int fromHour, Integer toHour, boolean vigente) {
+        Price price = new Price();
+        price.setIdPrice(idPrice);
+        price.setProductId(1);
+        price.setAmountPrice(amount);
+        price.setVigentePrice(vigente);
+        price.setValidFrom(OffsetDateTime.ofInstant(hours(fromHour), ZoneOffset.UTC));
+        price.setValidTo(toHour != null ? OffsetDateTime.ofInstant(hours(toHour), ZoneOffset.UTC) : null);
+        return price;
+    }
+
+    private static Instant hours(int hours) {
+        return T0.plusSeconds(hours * 3600L);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.BulkStockAdjustmentRequest;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentRequest.Line;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentResponse;
+import com.reducess.trinketstore.dto.BulkStockAdjustmentResponse.LineError;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.repository.InventoryRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class StockAdjustmentServiceTest {
+
+    @Autowired
+    private StockAdjustmentService stockAdjustmentService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Integer received;
+    private Integer counted;
+    private Integer scarce;
+    private Integer missing;
+
+    @BeforeEach
+    void seed() {
+        received = product(10);
+        counted = product(4);
+        scarce = product(2);
+        missing = product(null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rejectedLinesDoNotAbortTheBatch() {
+        BulkStockAdjustmentResponse response = stockAdjustmentService.adjustStock(new BulkStockAdjustmentRequest(List.of(
+                new Line(received, 5, null),
+                new Line(counted, null, 7),
+                new Line(scarce, -5, null),
+                new Line(received, 1, null),
+                new Line(missing, 1, null)
+        ), InventoryLedger.RECEIPT));
+
+        assertEquals(5, response.getProcessedLines());
+        assertEquals(2, response.getAppliedLines());
+        assertEquals(3, response.getFailedLines());
+        List<LineError> errors = response.getErrors();
+        assertEquals(List.of(3L, 4L, 5L), errors.stream().map(LineError::getLine).toList());
+        assertEquals(List.of(scarce, received, missing), errors.stream().map(LineError::getProductId).toList());
+        assertTrue(errors.get(0).getMessage().startsWith("Estoque ficaria negativo"));
+        assertEquals("Produto repetido no lote", errors.get(1).getMessage());
+        assertEquals("Inventário não encontrado", errors.get(2).getMessage());
+
+        entityManager.clear();
+        assertEquals(15, available(received));
+        assertEquals(7, available(counted));
+        assertEquals(2, available(scarce));
+        assertTrue(inventoryRepository.findByProductId(missing).isEmpty());
+    }
+
+    @Test
+    void rejectsLinesWithoutExactlyOneOfDeltaAndAbsolute() {
+        BulkStockAdjustmentResponse response = stockAdjustmentService.adjustStock(new BulkStockAdjustmentRequest(List.of(
+                new Line(received, null, null),
+                new Line(counted, 1, 1),
+                new Line(scarce, -2, null)
+        ), null));
+
+        assertEquals(1, response.getAppliedLines());
+        assertEquals(List.of(1L, 2L), response.getErrors().stream().map(LineError::getLine).toList());
+
+        entityManager.clear();
+        assertEquals(10, available(received));
+        assertEquals(4, available(counted));
+        assertEquals(0, available(scarce));
+    }
+
+    private int available(Integer productId) {
+        return inventoryRepository.findByProductId(productId).orElseThrow().getQtyAvailable();
+    }
+
+    private Integer product(Integer qtyOnHand) {
+        Integer productId = productRepository.save(TestFixtures.product("stock-adjustment")).getIdProduct();
+        if (qtyOnHand != null) {
+            Inventory inventory = new Inventory();
+            inventory.setProductId(productId);
+            inventory.setQtyOnHand(qtyOnHand);
+            inventoryRepository.save(inventory);
+        }
+        return productId;
+    }
+}
@@ -0,0 +1,123 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.dto.CreateOrderItemRequest;
+import com.reducess.trinketstore.entity.Inventory;
+import com.reducess.trinketstore.entity.Order;
+import com.reducess.trinketstore.entity.Product;
+import com.reducess.trinketstore.entity.User;
+import com.reducess.trinketstore.repository.InventoryRepository;
+import com.reducess.trinketstore.repository.OrderRepository;
+import com.reducess.trinketstore.repository.ProductRepository;
+import com.reducess.trinketstore.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sem {@code @Transactional}: a varredura grava em autocommit, como em produção, e o
+ * que é aplicado após o commit precisa de fato acontecer. Os dados são removidos ao fim.
+ */
+@SpringBootTest(properties = "pix.reservation.sweep-enabled=false")
+class StockReservationServiceTest {
+
+    private static final int ON_HAND_AFTER_CHECKOUT = 3;
+    private static final int RESERVED = 2;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private FlashSaleStock flashSaleStock;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Product product;
+    private Integer orderId;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(TestFixtures.customer("reservation"));
+        product = productRepository.save(TestFixtures.product("reservation"));
+
+        // Estoque já baixado pelo checkout
+        Inventory inventory = new Inventory();
+        inventory.setProductId(product.getIdProduct());
+        inventory.setQtyOnHand(ON_HAND_AFTER_CHECKOUT);
+        inventoryRepository.save(inventory);
+
+        Order order = new Order();
+        order.setUserId(user.getIdUser().intValue());
+        order.setTotalOrders(1990 * RESERVED);
+        order.setCheckoutId("RS-" + UUID.randomUUID());
+        order.setPaymentIntent("RS-" + UUID.randomUUID());
+        order.setPixExpiresAt(OffsetDateTime.now().minusMinutes(5));
+        orderId = orderRepository.save(order).getIdOrder();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (flashSaleStock.isActive(product.getIdProduct())) {
+            flashSaleStock.end(product.getIdProduct());
+        }
+        // Pedidos, reservas, inventário e razão saem em cascata
+        userRepository.deleteById(user.getIdUser());
+        productRepository.deleteById(product.getIdProduct());
+    }
+
+    @Test
+    void sweepReturnsExpiredReservationAndCancelsOrder() {
+        hold();
+
+        stockReservationService.sweep();
+
+        assertEquals(ON_HAND_AFTER_CHECKOUT + RESERVED, available());
+        assertEquals("canceled", orderRepository.findById(orderId).orElseThrow().getStatusOrder());
+    }
+
+    @Test
+    void sweepDuringFlashSaleReturnsStockToTheCounter() {
+        hold();
+        flashSaleStock.start(product.getIdProduct());
+
+        stockReservationService.sweep();
+
+        assertEquals(ON_HAND_AFTER_CHECKOUT + RESERVED, flashSaleAvailable());
+        assertEquals(ON_HAND_AFTER_CHECKOUT + RESERVED, available());
+    }
+
+    private void hold() {
+        stockReservationService.hold(orderId,
+                List.of(new CreateOrderItemRequest(product.getIdProduct(), RESERVED, 1990, 1990 * RESERVED)),
+                OffsetDateTime.now().minusMinutes(5));
+    }
+
+    private int flashSaleAvailable() {
+        return flashSaleStock.getActive().stream()
+                .filter(sale -> sale.getProductId().equals(product.getIdProduct()))
+                .findFirst().orElseThrow()
+                .getAvailable();
+    }
+
+    private int available() {
+        return inventoryRepository.findByProductId(product.getIdProduct()).orElseThrow().getQtyAvailable();
+    }
+}
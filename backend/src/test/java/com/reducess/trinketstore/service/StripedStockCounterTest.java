@@ -0,0 +1,46 @@
+package com.reducess.trinketstore.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedStockCounterTest {
+
+    @Test
+    void concurrentClaimsNeverOversell() throws InterruptedException {
+        StripedStockCounter counter = new StripedStockCounter(8, 10_001);
+        AtomicInteger sold = new AtomicInteger();
+
+        ExecutorService buyers = Executors.newFixedThreadPool(16);
+        for (int buyer = 0; buyer < 16; buyer++) {
+            buyers.submit(() -> {
+                for (int attempt = 0; attempt < 5_000; attempt++) {
+                    int quantity = 1 + attempt % 3;
+                    if (counter.tryClaim(quantity)) {
+                        sold.addAndGet(quantity);
+                    }
+                }
+            });
+        }
+        buyers.shutdown();
+        assertTrue(buyers.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(10_001, sold.get() + counter.available());
+    }
+
+    @Test
+    void claimSpanningStripesIsAllOrNothing() {
+        StripedStockCounter counter = new StripedStockCounter(4, 4);
+
+        assertTrue(counter.tryClaim(3));
+        assertFalse(counter.tryClaim(2));
+        assertEquals(1, counter.available());
+    }
+}
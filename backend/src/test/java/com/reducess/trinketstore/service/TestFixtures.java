@@ -0,0 +1,35 @@
+package com.reducess.trinketstore.service;
+
+import com.reducess.trinketstore.entity.Product;
+import com.reducess.trinketstore.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Entidades mínimas válidas para os testes de integração. Slug e e-mail recebem um sufixo
+ * aleatório, então os testes podem gravá-las sem colidir com dados já existentes.
+ */
+final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    static Product product(String slugPrefix) {
+        Product product = new Product();
+        product.setNomeProduct("Produto");
+        product.setSlugProduct(slugPrefix + "-" + UUID.randomUUID());
+        product.setDescricaoProduct("Descrição");
+        product.setImagemurlProduct("https://example.com/produto.png");
+        product.setCategoriaProduct("teste");
+        return product;
+    }
+
+    static User customer(String emailPrefix) {
+        User user = new User();
+        user.setAuthId(UUID.randomUUID());
+        user.setNomeUser("Cliente");
+        user.setEmail(emailPrefix + "-" + UUID.randomUUID() + "@example.com");
+        user.setRole("customer");
+        return user;
+    }
+}
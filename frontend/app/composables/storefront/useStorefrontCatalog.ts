@@ -1,12 +1,24 @@
 import { readonly } from 'vue'
 import type { ApiError } from '~/types/core/api'
-import type { ProductEntity } from '~/types/products'
-import type { PriceEntity } from '~/types/prices'
 import { useBackendFetchDirect } from '~/composables/core/useBackendFetch'
 import { useErrorHandler } from '~/composables/helpers/useErrorHandler'
 
 const CACHE_TTL_MS = 1000 * 60 * 5 // 5 minutos
 
+interface StorefrontProductEntity {
+  idProduct: number
+  nomeProduct: string
+  slugProduct: string
+  descricaoProduct: string
+  imagemurlProduct: string
+  categoriaProduct: string
+  createdAt: string
+  idPrice: number | null
+  amountPrice: number | null
+  currencyPrice: string | null
+  qtyOnHand: number
+}
+
 export interface StorefrontProduct {
   id: number
   slug: string
@@ -34,17 +46,7 @@ export const useStorefrontCatalog = () => {
     error.value = null
 
     try {
-      const [products, prices] = await Promise.all([
-        useBackendFetchDirect<ProductEntity[]>('/products/active'),
-        useBackendFetchDirect<PriceEntity[]>('/prices/active'),
-      ])
-
-      const priceMap = prices.reduce<Record<number, number>>((acc, price) => {
-        if (price.vigentePrice) {
-          acc[price.productId] = price.amountPrice
-        }
-        return acc
-      }, {})
+      const products = await useBackendFetchDirect<StorefrontProductEntity[]>('/storefront/products')
 
       catalog.value = products.map((product) => ({
         id: product.idProduct,
@@ -53,7 +55,7 @@ export const useStorefrontCatalog = () => {
         description: product.descricaoProduct,
         image: product.imagemurlProduct,
         category: product.categoriaProduct,
-        priceInCents: priceMap[product.idProduct] ?? null,
+        priceInCents: product.amountPrice ?? null,
       }))
       lastFetchedAt.value = now
     } catch (err) {